@@ -0,0 +1,56 @@
+package com.orders.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Pool JDBC (Hikari) usado pelo JPA.
+ * <p>
+ * O Spring Boot deixa de criar o {@code DataSource} quando encontra um {@code ConnectionFactory} do R2DBC
+ * (rotas {@code /reactive}); por isso ele é declarado aqui, lendo as mesmas propriedades
+ * {@code spring.datasource.*} e {@code spring.datasource.hikari.*}. O gerenciador de transações JPA é marcado
+ * como primário para que os {@code @Transactional} existentes não o confundam com o do R2DBC.
+ * </p>
+ * <p>
+ * Com {@code datasource.concurrency} (perfil {@code prod}) o pool é dimensionado pela quantidade de threads que
+ * usam o banco ao mesmo tempo, com tamanho fixo (mínimo de conexões ociosas igual ao máximo), como recomenda o
+ * Hikari. Valores explícitos em {@code spring.datasource.hikari.*} prevalecem.
+ * </p>
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties,
+                                       @Value("${datasource.concurrency:0}") int concurrency) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (concurrency > 0) {
+            // Aplicado antes do binding de spring.datasource.hikari.*, que pode sobrescrever
+            dataSource.setMaximumPoolSize(concurrency);
+            dataSource.setMinimumIdle(concurrency);
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,122 @@
+package com.orders.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verificação, na subida, das configurações do pool de conexões e do driver MySQL que costumam custar caro em
+ * produção: cada problema encontrado vira um WARN no log. Não impede a subida.
+ * <p>
+ * Ativada com {@code datasource.verify-settings=true} (perfil {@code prod}).
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.verify-settings", havingValue = "true")
+public class DataSourceSettingsVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceSettingsVerifier.class);
+
+    static final int MAX_POOL_SIZE = 100;
+    static final long MAX_CONNECTION_TIMEOUT_MS = 10_000;
+
+    private static final String BATCH_SIZE = "spring.jpa.properties.hibernate.jdbc.batch_size";
+    private static final String ORDER_INSERTS = "spring.jpa.properties.hibernate.order_inserts";
+
+    private final DataSource dataSource;
+    private final Environment environment;
+
+    public DataSourceSettingsVerifier(DataSource dataSource, Environment environment) {
+        this.dataSource = dataSource;
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        List<String> warnings = verify();
+        warnings.forEach(warning -> log.warn("Configuração de banco arriscada: {}", warning));
+    }
+
+    /**
+     * @return Descrição de cada configuração arriscada encontrada; vazia se nenhuma.
+     */
+    List<String> verify() {
+        HikariDataSource hikari = unwrap();
+        if (hikari == null) {
+            return List.of("o DataSource não é um pool Hikari; pool e driver não foram verificados");
+        }
+
+        List<String> warnings = new ArrayList<>();
+        if (hikari.getMaximumPoolSize() > MAX_POOL_SIZE) {
+            warnings.add("maximum-pool-size=" + hikari.getMaximumPoolSize() + ": mais conexões do que o MySQL "
+                    + "atende bem em paralelo, e cada instância soma ao total do servidor");
+        }
+        if (hikari.getConnectionTimeout() > MAX_CONNECTION_TIMEOUT_MS) {
+            warnings.add("connection-timeout=" + hikari.getConnectionTimeout() + " ms: com o pool esgotado as "
+                    + "requisições ficam presas esse tempo antes de falhar");
+        }
+        if (hikari.getLeakDetectionThreshold() == 0) {
+            warnings.add("leak-detection-threshold desligado: conexões que não voltam ao pool passam despercebidas");
+        }
+        if (hikari.getMaxLifetime() == 0) {
+            warnings.add("max-lifetime=0: as conexões nunca são renovadas e podem ser encerradas pelo MySQL "
+                    + "(wait_timeout) ou por proxies no caminho");
+        }
+
+        int batchSize = environment.getProperty(BATCH_SIZE, Integer.class, 0);
+        if (batchSize > 1 && !environment.getProperty(ORDER_INSERTS, Boolean.class, false)) {
+            warnings.add("hibernate.jdbc.batch_size=" + batchSize + " sem hibernate.order_inserts=true: inserts de "
+                    + "pedidos e itens intercalados quebram os lotes");
+        }
+
+        String url = hikari.getJdbcUrl();
+        if (url != null && url.startsWith("jdbc:mysql:")) {
+            if (batchSize > 1 && !isEnabled(hikari, "rewriteBatchedStatements")) {
+                warnings.add("hibernate.jdbc.batch_size=" + batchSize + " sem rewriteBatchedStatements=true: o "
+                        + "driver envia os lotes como um INSERT por linha");
+            }
+            if (!isEnabled(hikari, "cachePrepStmts")) {
+                warnings.add(isEnabled(hikari, "useServerPrepStmts")
+                        ? "useServerPrepStmts=true sem cachePrepStmts=true: cada comando custa uma ida a mais ao "
+                                + "servidor para ser preparado"
+                        : "cachePrepStmts desligado: o driver prepara de novo cada comando já usado");
+            }
+        }
+        return warnings;
+    }
+
+    private HikariDataSource unwrap() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Propriedade do driver, em {@code spring.datasource.hikari.data-source-properties.*} ou na URL JDBC.
+     */
+    private static boolean isEnabled(HikariDataSource hikari, String name) {
+        Object value = hikari.getDataSourceProperties().get(name);
+        if (value == null) {
+            Matcher matcher = Pattern.compile("[?&]" + name + "=([^&]*)").matcher(hikari.getJdbcUrl());
+            value = matcher.find() ? matcher.group(1) : null;
+        }
+        return value != null && Boolean.parseBoolean(value.toString().trim());
+    }
+}
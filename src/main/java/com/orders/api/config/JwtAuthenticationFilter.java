@@ -1,13 +1,17 @@
 package com.orders.api.config;
 
 import com.orders.api.entity.User;
-import com.orders.api.repository.UserRepository;
 import com.orders.api.service.JwtService;
+import com.orders.api.service.TokenRevocationService;
+import com.orders.api.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -21,23 +25,37 @@ import java.util.List;
  * valida o token, e se válido, autentica o usuário na segurança do Spring.
  * </p>
  * <p>
+ * O token é verificado uma única vez e o usuário autenticado é montado a partir das claims, sem consulta ao banco.
+ * O banco só é consultado (via cache de curta duração) quando {@code security.jwt.verify-user=true} ou quando
+ * o token não traz o id do usuário.
+ * </p>
+ * <p>
  * Exceções: rotas que iniciam com "/auth/" são ignoradas pois servem para login e registro (não precisam de autenticação).
  * </p>
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean verifyUser;
 
     /**
      * Construtor do filtro.
      *
-     * @param jwtService     Serviço responsável pela lógica do JWT (geração, validação, extração).
-     * @param userRepository Repositório para buscar informações do usuário no banco.
+     * @param jwtService             Serviço responsável pela lógica do JWT (geração, validação, extração).
+     * @param userService            Serviço para buscar informações do usuário no banco.
+     * @param tokenRevocationService Serviço de consulta dos tokens revogados (logout).
+     * @param verifyUser             Se {@code true}, confere a existência do usuário no banco a cada requisição.
      */
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserService userService,
+                                   TokenRevocationService tokenRevocationService,
+                                   boolean verifyUser) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.verifyUser = verifyUser;
     }
 
     /**
@@ -47,8 +65,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * <ul>
      *   <li>Ignora requisições para rotas "/auth/*".</li>
      *   <li>Verifica o cabeçalho Authorization para o token JWT.</li>
-     *   <li>Extrai o username do token e busca o usuário no banco.</li>
-     *   <li>Valida o token e autentica o usuário no contexto de segurança do Spring.</li>
+     *   <li>Verifica assinatura e expiração do token e monta o usuário a partir das claims.</li>
+     *   <li>Descarta tokens revogados por logout.</li>
+     *   <li>Autentica o usuário no contexto de segurança do Spring com a authority {@code ROLE_<role>}.</li>
      *   <li>Continua a cadeia de filtros independentemente do resultado da autenticação.</li>
      * </ul>
      * </p>
@@ -79,17 +98,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extrai o token JWT
             String token = authHeader.substring(7);
 
-            // Extrai o username do token JWT
-            String username = jwtService.extractUsername(token);
+            // Verifica assinatura e expiração uma única vez; token inválido segue sem autenticação (401)
+            Claims claims;
+            try {
+                claims = jwtService.parseClaims(token);
+            } catch (JwtException | IllegalArgumentException ex) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // Token revogado por logout; o filtro de Bloom evita a consulta ao banco no caso comum
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            // Busca o usuário no banco de dados pelo username
-            User user = userRepository.findByUsername(username)
-                    .orElse(null);
+            User user = jwtService.toPrincipal(claims);
+            if (verifyUser || user.getId() == null) {
+                user = userService.findCachedByUsername(claims.getSubject()).orElse(null);
+            }
 
-            // Se o usuário existir e o token for válido, autentica o usuário no Spring Security
-            if (user != null && jwtService.validateToken(token, user)) {
+            // Se o usuário existir, autentica o usuário no Spring Security
+            if (user != null) {
+                List<SimpleGrantedAuthority> authorities = user.getRole() != null
+                        ? List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
+                        : List.of();
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(user, null, List.of());
+                        new UsernamePasswordAuthenticationToken(user, null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
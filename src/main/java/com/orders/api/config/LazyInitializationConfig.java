@@ -0,0 +1,41 @@
+package com.orders.api.config;
+
+import com.orders.api.service.payment.PaymentProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+/**
+ * Beans que continuam sendo criados na subida com {@code spring.main.lazy-initialization=true} (perfil
+ * {@code prod}).
+ * <p>
+ * Tarefas {@code @Scheduled} só são registradas quando o bean é criado: sem esta exclusão a relay da outbox e
+ * as limpezas periódicas nunca rodariam. O {@link PaymentProcessor} também fica de fora para que o pool de
+ * workers e suas métricas existam antes do primeiro pedido. Filtros do servlet já são criados na subida do
+ * servidor web.
+ * </p>
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledTasksExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter paymentProcessorExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(PaymentProcessor.class);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, Schedules.class) ? Boolean.TRUE : null)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package com.orders.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amostragem de logs por logger, configurada no {@code logback-spring.xml} (perfil {@code prod}).
+ * <p>
+ * Cada {@code <sample>logger=N</sample>} mantém 1 de cada N eventos do logger (e dos seus filhos) até o nível
+ * WARN; eventos ERROR passam sempre. Serve para loggers que, sob carga, repetem a mesma mensagem muitas vezes
+ * por segundo, como os erros de cliente do {@code ApiExceptionHandler}. A contagem é feita por logger e só
+ * considera eventos que o nível configurado deixaria passar.
+ * </p>
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private final Map<String, Integer> rates = new ConcurrentHashMap<>();
+
+    /**
+     * Taxa efetiva de cada logger já consultado (a do prefixo mais longo configurado, ou 1).
+     */
+    private final Map<String, Integer> resolvedRates = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param sample Par {@code logger=N}, com N maior ou igual a 1.
+     */
+    public void addSample(String sample) {
+        int separator = sample.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("Amostragem inválida, esperado logger=N: " + sample);
+            return;
+        }
+        try {
+            int rate = Integer.parseInt(sample.substring(separator + 1).trim());
+            if (rate < 1) {
+                throw new NumberFormatException("menor que 1");
+            }
+            rates.put(sample.substring(0, separator).trim(), rate);
+            resolvedRates.clear();
+        } catch (NumberFormatException ex) {
+            addError("Taxa de amostragem inválida em " + sample + ": " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Consultas isXxxEnabled() (sem mensagem) e eventos ERROR não entram na amostragem
+        if (format == null || level.isGreaterOrEqual(Level.ERROR) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        int rate = resolvedRates.computeIfAbsent(logger.getName(), this::resolveRate);
+        if (rate == 1) {
+            return FilterReply.NEUTRAL;
+        }
+        long sequence = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return sequence % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private int resolveRate(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Integer rate = rates.get(name);
+            if (rate != null) {
+                return rate;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return 1;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+}
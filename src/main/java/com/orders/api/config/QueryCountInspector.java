@@ -0,0 +1,28 @@
+package com.orders.api.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * {@link StatementInspector} do Hibernate que conta os comandos SQL preparados pela thread corrente.
+ * <p>
+ * Não altera o SQL; serve apenas para medir quantos comandos uma operação executa, comparando
+ * {@link #current()} antes e depois dela.
+ * </p>
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTER = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return Total de comandos SQL preparados pela thread corrente desde o seu início.
+     */
+    public static long current() {
+        return COUNTER.get()[0];
+    }
+}
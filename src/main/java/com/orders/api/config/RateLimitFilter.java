@@ -0,0 +1,81 @@
+package com.orders.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.api.entity.User;
+import com.orders.api.exception.ErrorMessage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que aplica o limite de requisições por cliente definido em {@link RateLimitProperties}.
+ * <p>
+ * Executado logo após o {@link JwtAuthenticationFilter}: o cliente é identificado pelo username autenticado
+ * ou, na ausência de autenticação, pelo IP de origem. As respostas de rotas limitadas trazem os cabeçalhos
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining} e {@code RateLimit-Reset}; quando o limite é excedido
+ * a requisição é encerrada com HTTP 429 e {@code Retry-After}.
+ * </p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.Rule rule = rateLimiter.match(request.getMethod(), path);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long result = rule.tryConsume(clientKey(request), System.nanoTime());
+        response.setHeader("RateLimit-Limit", String.valueOf(rule.getCapacity()));
+
+        if (result < 0) {
+            response.setHeader("RateLimit-Remaining", "0");
+            response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(-result)));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(-result)));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ErrorMessage(request, HttpStatus.TOO_MANY_REQUESTS, "Limite de requisições excedido"));
+            return;
+        }
+
+        response.setHeader("RateLimit-Remaining", String.valueOf(rule.remaining(result)));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(result)));
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getUsername();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
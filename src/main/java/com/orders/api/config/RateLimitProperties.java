@@ -0,0 +1,113 @@
+package com.orders.api.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração do limite de requisições por cliente ({@code rate-limit.*}).
+ * As rotas são avaliadas na ordem declarada e a primeira que casar com a requisição é aplicada.
+ * Rotas com capacidade ou reposição não positivas impedem a subida.
+ */
+@Validated
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Intervalo da remoção de buckets ociosos (cheios).
+     */
+    private Duration evictInterval = Duration.ofMinutes(1);
+
+    @Valid
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getEvictInterval() {
+        return evictInterval;
+    }
+
+    public void setEvictInterval(Duration evictInterval) {
+        this.evictInterval = evictInterval;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+
+        /**
+         * Padrão de caminho no formato do {@code PathPattern} (ex.: {@code /orders/**}).
+         */
+        @NotBlank
+        private String pattern;
+
+        /**
+         * Método HTTP; vazio para qualquer método.
+         */
+        private String method;
+
+        /**
+         * Quantidade máxima de requisições em rajada.
+         */
+        @Positive
+        private long capacity;
+
+        /**
+         * Tokens repostos por segundo.
+         */
+        @Positive
+        private double refillPerSecond;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
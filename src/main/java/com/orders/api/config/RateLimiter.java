@@ -0,0 +1,192 @@
+package com.orders.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buckets de limite de requisições por rota e por cliente.
+ * <p>
+ * Cada rota configurada em {@link RateLimitProperties} mantém um mapa concorrente de {@link TokenBucket} por
+ * cliente. Buckets cheios equivalem a buckets novos e são removidos periodicamente, de modo que apenas
+ * clientes ativos ocupam memória.
+ * </p>
+ * <p>
+ * A remoção confere de novo se o bucket está cheio de forma atômica em relação ao mapa, e um consumo que
+ * encontra o seu bucket removido é refeito no bucket atual. Resta uma janela estreita: um consumo feito entre
+ * a nova conferência e a remoção, e conferido antes da remoção, se perde com o bucket removido, e o cliente
+ * ganha no máximo um token por requisição em andamento naquele instante.
+ * </p>
+ */
+@Component
+public class RateLimiter {
+
+    private final List<Rule> rules;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rules = properties.isEnabled()
+                ? properties.getRoutes().stream().map(route -> new Rule(route, meterRegistry)).toList()
+                : List.of();
+    }
+
+    /**
+     * Rotas literais ou de prefixo ({@code /orders/**}) são comparadas com o caminho bruto, sem alocação. O
+     * {@link PathContainer} só é montado para os demais padrões ou para caminhos com caracteres codificados
+     * ({@code %}), que o {@link PathPattern} compara já decodificados.
+     *
+     * @return A primeira rota que casa com a requisição, ou {@code null} se ela não for limitada.
+     */
+    Rule match(String method, String path) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        boolean plain = path.indexOf('%') < 0;
+        PathContainer container = null;
+        for (Rule rule : rules) {
+            if (!rule.matchesMethod(method)) {
+                continue;
+            }
+            if (plain && rule.exact != null) {
+                if (rule.matchesPlain(path)) {
+                    return rule;
+                }
+                continue;
+            }
+            if (container == null) {
+                container = PathContainer.parsePath(path);
+            }
+            if (rule.pattern.matches(container)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove os buckets cheios, que não guardam nenhum consumo pendente.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.evict-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Rule rule : rules) {
+            rule.buckets.forEach((key, bucket) -> {
+                if (bucket.isFull(now)) {
+                    // Consumos entre a primeira conferência e a remoção mantêm o bucket
+                    rule.buckets.computeIfPresent(key, (k, current) ->
+                            current == bucket && current.isFull(System.nanoTime()) ? null : current);
+                }
+            });
+        }
+    }
+
+    static final class Rule {
+        private final String name;
+        private final PathPattern pattern;
+        /**
+         * Caminho literal do padrão ({@code /orders/export}) ou o início de um padrão {@code /orders/**};
+         * {@code null} se o padrão tiver variáveis ou curingas em outra posição.
+         */
+        private final String exact;
+        /**
+         * {@code exact + "/"} quando o padrão termina em {@code /**}.
+         */
+        private final String prefix;
+        private final String method;
+        private final long capacity;
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final Counter rejected;
+
+        Rule(RateLimitProperties.Route route, MeterRegistry meterRegistry) {
+            this.name = route.getMethod() == null || route.getMethod().isBlank()
+                    ? route.getPattern()
+                    : route.getMethod() + " " + route.getPattern();
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPattern());
+            String raw = route.getPattern();
+            boolean anyBelow = raw.endsWith("/**");
+            String head = anyBelow ? raw.substring(0, raw.length() - 3) : raw;
+            boolean literal = !head.isEmpty() && head.chars().noneMatch(c -> c == '*' || c == '?' || c == '{');
+            this.exact = literal ? head : null;
+            this.prefix = literal && anyBelow ? head + "/" : null;
+            this.method = route.getMethod() == null || route.getMethod().isBlank() ? null : route.getMethod();
+            if (route.getCapacity() <= 0 || !(route.getRefillPerSecond() > 0)) {
+                throw new IllegalArgumentException("Rota " + name + ": capacity e refill-per-second devem ser positivos");
+            }
+            this.capacity = route.getCapacity();
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / route.getRefillPerSecond()));
+            try {
+                this.capacityNanos = Math.multiplyExact(capacity, intervalNanos);
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException("Rota " + name + ": capacity grande demais para refill-per-second", ex);
+            }
+            this.rejected = Counter.builder("http.rate-limit.rejected")
+                    .description("Requisições rejeitadas pelo limite por cliente")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.rate-limit.buckets", buckets, ConcurrentHashMap::size)
+                    .description("Clientes com bucket ativo")
+                    .tag("route", name)
+                    .register(meterRegistry);
+        }
+
+        boolean matchesMethod(String requestMethod) {
+            return method == null || method.equalsIgnoreCase(requestMethod);
+        }
+
+        /**
+         * Mesmo resultado do {@link PathPattern} para padrões com {@link #exact}, sobre um caminho sem {@code %}.
+         */
+        boolean matchesPlain(String path) {
+            return path.equals(exact) || (prefix != null && path.startsWith(prefix));
+        }
+
+        /**
+         * @see TokenBucket#tryConsume(long, long, long)
+         */
+        long tryConsume(String key, long now) {
+            long result;
+            TokenBucket bucket = buckets.get(key);
+            for (;;) {
+                if (bucket == null) {
+                    bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+                }
+                result = bucket.tryConsume(now, intervalNanos, capacityNanos);
+                TokenBucket current = buckets.get(key);
+                if (current == bucket) {
+                    break;
+                }
+                // Bucket removido por evictIdle durante o consumo: o consumo vale no bucket atual
+                bucket = current;
+            }
+            if (result < 0) {
+                rejected.increment();
+            }
+            return result;
+        }
+
+        /**
+         * @return Tokens restantes após um consumo que devolveu {@code debtNanos}.
+         */
+        long remaining(long debtNanos) {
+            return (capacityNanos - debtNanos) / intervalNanos;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        long getCapacity() {
+            return capacity;
+        }
+    }
+}
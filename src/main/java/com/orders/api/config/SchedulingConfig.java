@@ -0,0 +1,12 @@
+package com.orders.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas periódicas da aplicação ({@code @Scheduled}), como a limpeza de chaves de idempotência.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
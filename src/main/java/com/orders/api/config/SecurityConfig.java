@@ -1,9 +1,14 @@
 package com.orders.api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orders.api.exception.CustomAccessDeniedHandler;
-import com.orders.api.repository.UserRepository;
 import com.orders.api.service.JwtService;
+import com.orders.api.service.TokenRevocationService;
+import com.orders.api.service.UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,25 +22,38 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
     private final CustomAccessDeniedHandler accessDeniedHandler;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           JwtAuthenticationFilter jwtAuthenticationFilter,
+                                           @Value("${management.server.port:-1}") int managementPort) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable()) //Desabilita a proteção contra CSRF em REST usa JWT
                 .formLogin(formLogin -> formLogin.disable()) // Desabilita o formulário de login html
                 .httpBasic(httpBasic -> httpBasic.disable()) // Desabilita o HTTP Basic Auth, usamos JWT
                 .authorizeHttpRequests(auth -> auth // Inicia a configuração de autorização: define quais endpoints são públicos e quais exigem autenticação.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Continuação de respostas assíncronas (streams); a requisição original já foi autorizada
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll() // Para que novos usuários possam se cadastrar sem precisar estar autenticados
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/logout").permitAll() // O próprio endpoint verifica o token a ser revogado
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll() // Health check, sem token
+                        .requestMatchers(prometheusScrape(managementPort)).permitAll() // Coleta do Prometheus sem token, só pela porta interna do actuator
                         .anyRequest().authenticated() // Qualquer outra requisição deve ser autenticada.
                 )
                 .exceptionHandling(e -> e.accessDeniedHandler(accessDeniedHandler)
@@ -43,19 +61,32 @@ public class SecurityConfig {
                 .sessionManagement( // Em aplicações que usam JWT, o servidor não armazena sessões, cada requisição é independente e carrega sua autenticação no próprio token
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Limite por cliente: após o JWT para identificar o usuário; não é bean para não ser registrado também como filtro do servlet
+                .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class)
                 .build();
     }
 
+    /**
+     * {@code GET /actuator/prometheus} recebido na porta do actuator ({@code management.server.port}), que não é
+     * publicada fora da rede interna. Na porta da aplicação a coleta exige um token como qualquer outra rota.
+     */
+    private static RequestMatcher prometheusScrape(int managementPort) {
+        return new AndRequestMatcher(
+                request -> managementPort > 0 && request.getLocalPort() == managementPort,
+                AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/actuator/prometheus"));
+    }
+
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter() {
+    public JwtAuthenticationFilter jwtAuthenticationFilter(@Value("${security.jwt.verify-user:false}") boolean verifyUser) {
         // Responsável por interceptar as requisições, validar o token JWT e autenticar o usuário no contexto de segurança.
-        return new JwtAuthenticationFilter(jwtService, userRepository);
+        return new JwtAuthenticationFilter(jwtService, userService, tokenRevocationService, verifyUser);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        // Hashes com custo menor que o configurado são refeitos no próximo login
+        return new BCryptPasswordEncoder(strength);
     }
 }
 
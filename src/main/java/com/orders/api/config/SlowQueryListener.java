@@ -0,0 +1,50 @@
+package com.orders.api.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Log de consultas lentas, no lugar do {@code spring.jpa.show-sql}.
+ * <p>
+ * Registra no logger {@code slow-query}, em WARN, apenas os comandos que levaram pelo menos
+ * {@code slow-query-log.threshold}, com o tempo, a quantidade de parâmetros (binds) e, em lotes JDBC, o tamanho
+ * do lote. Os valores dos parâmetros não são registrados. No JSON do perfil {@code prod} esses números também
+ * saem como campos próprios ({@code elapsedMs}, {@code binds}, {@code batchSize}).
+ * </p>
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("slow-query");
+
+    private final long thresholdMillis;
+
+    public SlowQueryListener(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            int binds = query.getParametersList().stream().mapToInt(List::size).sum();
+            log.atWarn()
+                    .addKeyValue("elapsedMs", elapsed)
+                    .addKeyValue("binds", binds)
+                    .addKeyValue("batchSize", execInfo.getBatchSize())
+                    .log("Consulta lenta ({} ms, {} binds): {}", elapsed, binds, query.getQuery());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.orders.api.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envolve o {@code DataSource} com o datasource-proxy para medir cada comando e alimentar o
+ * {@link SlowQueryListener}. Desligado com {@code slow-query-log.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "slow-query-log.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLogConfig {
+
+    @Bean
+    static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            @Value("${slow-query-log.threshold:PT0.2S}") Duration threshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SlowQueryListener(threshold))
+                        .build();
+            }
+        };
+    }
+}
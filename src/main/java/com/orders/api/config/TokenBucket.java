@@ -0,0 +1,50 @@
+package com.orders.api.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks, implementado como GCRA (generic cell rate algorithm).
+ * <p>
+ * Todo o estado é um único {@code long}: o instante (em {@link System#nanoTime()}) em que o bucket volta a
+ * estar cheio. Consumir um token avança esse instante em um intervalo de reposição via CAS; a requisição é
+ * rejeitada se o avanço ultrapassar a capacidade do bucket.
+ * </p>
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @param now           Instante atual em nanossegundos.
+     * @param intervalNanos Tempo de reposição de um token.
+     * @param capacityNanos Capacidade do bucket expressa em tempo ({@code capacidade * intervalNanos}).
+     * @return Se positivo, o token foi consumido e o valor é o tempo até o bucket voltar a estar cheio;
+     * se negativo, a requisição foi rejeitada e o valor absoluto é o tempo até haver um token disponível.
+     */
+    long tryConsume(long now, long intervalNanos, long capacityNanos) {
+        for (;;) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long debt = next - now;
+            if (debt > capacityNanos) {
+                return -(debt - capacityNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return debt;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} se o bucket está cheio, ou seja, equivale a um bucket novo e pode ser descartado.
+     */
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.orders.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suporte ao modo virtual threads ({@code spring.threads.virtual.enabled=true}, perfil {@code virtual-threads}).
+ * <p>
+ * Com a propriedade ativa em Java 21+ o Spring Boot atende as requisições do Tomcat e executa as tarefas
+ * {@code @Async} e {@code @Scheduled} em virtual threads; os workers próprios da aplicação obtêm suas threads
+ * por {@link #threadFactory(String, boolean)}. O acesso é feito por reflexão porque o projeto ainda compila
+ * para Java 17.
+ * </p>
+ */
+@Component
+public class VirtualThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private final boolean enabled;
+
+    public VirtualThreads(@Value("${spring.threads.virtual.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMode() {
+        if (enabled && !isSupported()) {
+            log.warn("spring.threads.virtual.enabled=true ignorado: a JVM {} não oferece virtual threads; usando threads de plataforma",
+                    Runtime.version());
+        } else if (enabled) {
+            log.info("Modo virtual threads ativo");
+        }
+    }
+
+    /**
+     * @return {@code true} se a JVM oferece virtual threads (Java 21+).
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return Runtime.version().feature() >= 21;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Fábrica de threads para workers de I/O.
+     *
+     * @param prefix  Prefixo do nome das threads.
+     * @param virtual Se {@code true} e a JVM oferecer suporte, cria virtual threads.
+     * @return Fábrica de virtual threads ou de threads de plataforma daemon.
+     */
+    public static ThreadFactory threadFactory(String prefix, boolean virtual) {
+        if (virtual && isSupported()) {
+            try {
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                log.warn("Não foi possível criar virtual threads; usando threads de plataforma", ex);
+            }
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
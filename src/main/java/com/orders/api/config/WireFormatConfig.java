@@ -0,0 +1,33 @@
+package com.orders.api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binários negociados pelo cabeçalho {@code Accept} (e aceitos no {@code Content-Type}) ao lado do
+ * JSON, para consumidores internos das listagens de pedidos e produtos: Smile
+ * ({@code application/x-jackson-smile}) e CBOR ({@code application/cbor}).
+ * <p>
+ * Os conversores usam o mesmo {@link Jackson2ObjectMapperBuilder} do JSON, com as configurações
+ * {@code spring.jackson.*}; o conteúdo é o mesmo, só a codificação muda. Sem {@code Accept} a resposta continua
+ * em JSON.
+ * </p>
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,52 @@
+package com.orders.api.dto;
+
+import java.util.List;
+
+public class BatchOrderResponse {
+    private int received;
+    private int succeeded;
+    private int failed;
+    private List<BatchOrderResult> results;
+
+    public BatchOrderResponse() {
+    }
+
+    public BatchOrderResponse(List<BatchOrderResult> results) {
+        this.results = results;
+        this.received = results.size();
+        this.succeeded = (int) results.stream().filter(BatchOrderResult::isSuccess).count();
+        this.failed = this.received - this.succeeded;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchOrderResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchOrderResult> results) {
+        this.results = results;
+    }
+}
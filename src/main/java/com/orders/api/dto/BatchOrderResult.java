@@ -0,0 +1,66 @@
+package com.orders.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado da ingestão de um pedido dentro de um lote.
+ * O {@code index} corresponde à posição do pedido na lista enviada.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOrderResult {
+    private int index;
+    private boolean success;
+    private String orderId;
+    private String error;
+
+    public BatchOrderResult() {
+    }
+
+    public static BatchOrderResult success(int index, String orderId) {
+        BatchOrderResult result = new BatchOrderResult();
+        result.setIndex(index);
+        result.setSuccess(true);
+        result.setOrderId(orderId);
+        return result;
+    }
+
+    public static BatchOrderResult failure(int index, String error) {
+        BatchOrderResult result = new BatchOrderResult();
+        result.setIndex(index);
+        result.setSuccess(false);
+        result.setError(error);
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
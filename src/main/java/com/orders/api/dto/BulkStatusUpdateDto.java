@@ -0,0 +1,48 @@
+package com.orders.api.dto;
+
+import com.orders.api.dto.validation.TargetStatus;
+import com.orders.api.enums.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class BulkStatusUpdateDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull(message = "Ids obrigatórios")
+    @NotEmpty(message = "A lista de ids não pode estar vazia")
+    @Size(max = 100_000, message = "A lista deve ter no máximo 100000 ids")
+    private List<String> ids;
+
+    @NotNull(message = "Status obrigatório")
+    @TargetStatus
+    private OrderStatus status;
+
+    public BulkStatusUpdateDto() {
+    }
+
+    public BulkStatusUpdateDto(List<String> ids, OrderStatus status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,68 @@
+package com.orders.api.dto;
+
+import com.orders.api.enums.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Resultado de uma transição de status em massa.
+ * {@code skippedIds} contém os pedidos inexistentes ou que não estavam mais em PENDING.
+ */
+public class BulkStatusUpdateResponse {
+    private OrderStatus status;
+    private int requested;
+    private int updated;
+    private int skipped;
+    private List<String> skippedIds;
+
+    public BulkStatusUpdateResponse() {
+    }
+
+    public BulkStatusUpdateResponse(OrderStatus status, int requested, int updated, List<String> skippedIds) {
+        this.status = status;
+        this.requested = requested;
+        this.updated = updated;
+        this.skipped = skippedIds.size();
+        this.skippedIds = skippedIds;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public List<String> getSkippedIds() {
+        return skippedIds;
+    }
+
+    public void setSkippedIds(List<String> skippedIds) {
+        this.skippedIds = skippedIds;
+    }
+}
@@ -0,0 +1,39 @@
+package com.orders.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Lote de pedidos recebido por {@code POST /orders/batch}.
+ * <p>
+ * Os pedidos não são validados em cascata aqui: cada pedido é validado individualmente
+ * na ingestão, para que um pedido inválido não rejeite o lote inteiro.
+ */
+public class CreateOrderBatchDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull(message = "Pedidos obrigatórios")
+    @NotEmpty(message = "A lista de pedidos não pode estar vazia")
+    @Size(max = 5000, message = "O lote deve ter no máximo 5000 pedidos")
+    private List<CreateOrderDto> orders;
+
+    public CreateOrderBatchDto() {
+    }
+
+    public CreateOrderBatchDto(List<CreateOrderDto> orders) {
+        this.orders = orders;
+    }
+
+    public List<CreateOrderDto> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<CreateOrderDto> orders) {
+        this.orders = orders;
+    }
+}
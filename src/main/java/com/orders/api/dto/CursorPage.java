@@ -0,0 +1,36 @@
+package com.orders.api.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por cursor.
+ * {@code next} é um cursor opaco para a próxima página, ou {@code null} quando não há mais resultados.
+ */
+public class CursorPage<T> {
+    private List<T> items;
+    private String next;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
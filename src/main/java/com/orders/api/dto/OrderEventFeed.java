@@ -0,0 +1,36 @@
+package com.orders.api.dto;
+
+import java.util.List;
+
+/**
+ * Página do feed de eventos de pedidos.
+ * {@code lastPosition} deve ser enviado como {@code after} na próxima leitura.
+ */
+public class OrderEventFeed {
+    private List<OrderEventResponse> events;
+    private long lastPosition;
+
+    public OrderEventFeed() {
+    }
+
+    public OrderEventFeed(List<OrderEventResponse> events, long lastPosition) {
+        this.events = events;
+        this.lastPosition = lastPosition;
+    }
+
+    public List<OrderEventResponse> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<OrderEventResponse> events) {
+        this.events = events;
+    }
+
+    public long getLastPosition() {
+        return lastPosition;
+    }
+
+    public void setLastPosition(long lastPosition) {
+        this.lastPosition = lastPosition;
+    }
+}
@@ -0,0 +1,67 @@
+package com.orders.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.orders.api.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+public class OrderEventResponse {
+    private long position;
+    private OutboxEventType type;
+    private String orderId;
+    private LocalDateTime createdAt;
+
+    @JsonRawValue
+    private String payload;
+
+    public OrderEventResponse() {
+    }
+
+    public OrderEventResponse(long position, OutboxEventType type, String orderId, LocalDateTime createdAt, String payload) {
+        this.position = position;
+        this.type = type;
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+        this.payload = payload;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    public OutboxEventType getType() {
+        return type;
+    }
+
+    public void setType(OutboxEventType type) {
+        this.type = type;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
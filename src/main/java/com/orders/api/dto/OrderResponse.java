@@ -11,6 +11,19 @@ public class OrderResponse {
     private LocalDateTime createdAt;
     private List<OrderItemResponse> items;
 
+    public OrderResponse() {
+    }
+
+    /**
+     * Construtor usado pela projeção JPQL do histórico de pedidos do cliente (sem itens).
+     */
+    public OrderResponse(String id, String clientId, BigDecimal total, LocalDateTime createdAt) {
+        this.id = id;
+        this.clientId = clientId;
+        this.total = total;
+        this.createdAt = createdAt;
+    }
+
     public String getId() {
         return id;
     }
@@ -0,0 +1,56 @@
+package com.orders.api.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por número de página.
+ * {@code hasNext} indica se existe uma próxima página, sem exigir a contagem total de registros.
+ */
+public class PageResponse<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    public PageResponse() {
+    }
+
+    public PageResponse(List<T> items, int page, int size, boolean hasNext) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,27 @@
+package com.orders.api.dto.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * O {@link com.orders.api.enums.OrderStatus} anotado deve ser um status de destino de transição
+ * ({@code PAID} ou {@code FAILED}). {@code null} é considerado válido; combine com {@code @NotNull}.
+ */
+@Documented
+@Constraint(validatedBy = TargetStatusValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TargetStatus {
+
+    String message() default "O status de destino deve ser PAID ou FAILED";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,13 @@
+package com.orders.api.dto.validation;
+
+import com.orders.api.enums.OrderStatus;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class TargetStatusValidator implements ConstraintValidator<TargetStatus, OrderStatus> {
+
+    @Override
+    public boolean isValid(OrderStatus status, ConstraintValidatorContext context) {
+        return status == null || status != OrderStatus.PENDING;
+    }
+}
@@ -0,0 +1,110 @@
+package com.orders.api.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Registro persistente de uma chave {@code Idempotency-Key} já processada, do pedido que ela gerou e do hash
+ * da requisição original, usado para recusar a mesma chave com outro conteúdo.
+ * <p>
+ * Implementa {@link Persistable} para que o {@code save} de uma chave nova seja um {@code INSERT} direto,
+ * sem o {@code SELECT} que o {@code merge} faria por causa do id atribuído.
+ * </p>
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyKey implements Persistable<IdempotencyKeyId>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private IdempotencyKeyId id;
+
+    @Column(name = "order_id", length = 36, nullable = false)
+    private String orderId;
+
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public IdempotencyKey() {
+    }
+
+    public IdempotencyKey(IdempotencyKeyId id, String orderId, String requestHash) {
+        this.id = id;
+        this.orderId = orderId;
+        this.requestHash = requestHash;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    public void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public IdempotencyKeyId getId() {
+        return id;
+    }
+
+    public void setId(IdempotencyKeyId id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyKey that = (IdempotencyKey) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,57 @@
+package com.orders.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Chave primária de {@link IdempotencyKey}: o valor do cabeçalho {@code Idempotency-Key} só é único dentro
+ * do usuário que o enviou, de modo que clientes distintos podem repetir a mesma chave sem ver os pedidos
+ * uns dos outros.
+ */
+@Embeddable
+public class IdempotencyKeyId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "idempotency_key", length = 128, nullable = false)
+    private String key;
+
+    public IdempotencyKeyId() {
+    }
+
+    public IdempotencyKeyId(String username, String key) {
+        this.username = username;
+        this.key = key;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyKeyId that = (IdempotencyKeyId) o;
+        return Objects.equals(username, that.username) && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username, key);
+    }
+
+    @Override
+    public String toString() {
+        return username + ":" + key;
+    }
+}
@@ -13,8 +13,13 @@ public class OrderItem implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Identificador gerado por sequência com otimizador pooled (emulada em tabela no MySQL).
+     * IDENTITY desabilita o batching de inserts do Hibernate, pois exige um round trip por linha.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
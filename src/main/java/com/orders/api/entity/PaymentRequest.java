@@ -0,0 +1,118 @@
+package com.orders.api.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Cobrança pendente de um pedido criado com {@code cardHash}, gravada na mesma transação do pedido e removida
+ * quando o resultado do pagamento é registrado.
+ * <p>
+ * Cobranças que ficaram de fora da fila em memória (fila cheia, reinício da aplicação) continuam aqui e são
+ * retomadas pela recuperação periódica do {@code PaymentProcessor}. Implementa {@link Persistable} para que o
+ * {@code save} seja um {@code INSERT} direto, sem o {@code SELECT} que o {@code merge} faria por causa do id
+ * atribuído.
+ * </p>
+ */
+@Entity
+@Table(name = "payment_requests", indexes = {
+        @Index(name = "idx_payment_requests_created_at", columnList = "created_at")
+})
+public class PaymentRequest implements Persistable<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "order_id", length = 36)
+    private String orderId;
+
+    @Column(name = "card_hash", nullable = false)
+    private String cardHash;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public PaymentRequest() {
+    }
+
+    public PaymentRequest(String orderId, String cardHash, BigDecimal amount) {
+        this.orderId = orderId;
+        this.cardHash = cardHash;
+        this.amount = amount;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    public void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getCardHash() {
+        return cardHash;
+    }
+
+    public void setCardHash(String cardHash) {
+        this.cardHash = cardHash;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        PaymentRequest that = (PaymentRequest) o;
+        return Objects.equals(orderId, that.orderId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(orderId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.orders.api.entity.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
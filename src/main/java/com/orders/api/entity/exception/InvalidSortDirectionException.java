@@ -0,0 +1,8 @@
+package com.orders.api.entity.exception;
+
+public class InvalidSortDirectionException extends RuntimeException {
+
+    public InvalidSortDirectionException(String message) {
+        super(message);
+    }
+}
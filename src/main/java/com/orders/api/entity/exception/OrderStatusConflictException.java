@@ -0,0 +1,8 @@
+package com.orders.api.entity.exception;
+
+public class OrderStatusConflictException extends RuntimeException {
+
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.orders.api.enums;
+
+public enum OutboxEventType {
+    ORDER_CREATED,
+    ORDER_PAID,
+    ORDER_FAILED
+}
@@ -2,16 +2,33 @@ package com.orders.api.exception;
 
 
 import com.orders.api.entity.exception.EntityNotFoundException;
+import com.orders.api.entity.exception.IdempotencyKeyConflictException;
+import com.orders.api.entity.exception.IdempotencyKeyMismatchException;
+import com.orders.api.entity.exception.InvalidCursorException;
+import com.orders.api.entity.exception.InvalidSortDirectionException;
+import com.orders.api.entity.exception.OrderStatusConflictException;
+import com.orders.api.entity.exception.ServiceOverloadedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 /**
@@ -23,8 +40,15 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * <p>Esta classe centraliza o tratamento de erros comuns, como:
  * <ul>
  *   <li>{@link EntityNotFoundException} - quando uma entidade não é encontrada (HTTP 404).</li>
+ *   <li>{@link InvalidCursorException} - quando o cursor de paginação é inválido (HTTP 400).</li>
+ *   <li>{@link InvalidSortDirectionException} - quando a direção de ordenação não é asc nem desc (HTTP 400).</li>
+ *   <li>{@link OrderStatusConflictException} - quando o pedido não está no status exigido pela transição (HTTP 409).</li>
+ *   <li>{@link IdempotencyKeyConflictException} - quando a requisição original com a mesma chave ainda está em andamento (HTTP 409).</li>
+ *   <li>{@link IdempotencyKeyMismatchException} - quando a chave de idempotência já foi usada com outro conteúdo (HTTP 422).</li>
+ *   <li>{@link ServiceOverloadedException} - quando o serviço está saturado e a requisição deve ser repetida (HTTP 503).</li>
  *   <li>{@code UserNameUniqueViolationException} - quando há violação de unicidade de usuário (HTTP 409).</li>
  *   <li>{@link MethodArgumentNotValidException} - quando há falhas de validação nos parâmetros (HTTP 422).</li>
+ *   <li>{@link HandlerMethodValidationException} - quando um cabeçalho ou parâmetro da requisição é inválido (HTTP 400).</li>
  * </ul>
  * </p>
  * @author Pierri Alexander Vidmar
@@ -49,13 +73,103 @@ public class ApiExceptionHandler {
             RuntimeException ex,
             HttpServletRequest request
     ) {
-        log.error("Api Error - ", ex);
+        logClientError(HttpStatus.NOT_FOUND, request, ex.getMessage());
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new ErrorMessage(request, HttpStatus.NOT_FOUND, ex.getMessage()));
     }
 
+    /**
+     * Manipula exceções do tipo {@link InvalidCursorException} e {@link InvalidSortDirectionException}.
+     *
+     * <p>Retorna uma resposta com status HTTP 400 (Bad Request) quando o cursor de paginação
+     * não pode ser decodificado ou a direção de ordenação é desconhecida.</p>
+     *
+     * @param ex      A exceção lançada.
+     * @param request A requisição HTTP que gerou a exceção.
+     * @return Um {@link ResponseEntity} contendo {@link ErrorMessage} com detalhes do erro.
+     */
+    @ExceptionHandler({InvalidCursorException.class, InvalidSortDirectionException.class})
+    public ResponseEntity<ErrorMessage> invalidCursorException(
+            RuntimeException ex,
+            HttpServletRequest request
+    ) {
+        logClientError(HttpStatus.BAD_REQUEST, request, ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    /**
+     * Manipula exceções do tipo {@link OrderStatusConflictException} e {@link IdempotencyKeyConflictException}.
+     *
+     * <p>Retorna uma resposta com status HTTP 409 (Conflict) quando o status atual do pedido
+     * não permite a transição solicitada ou quando uma requisição com a mesma chave de idempotência
+     * ainda está em andamento.</p>
+     *
+     * @param ex      A exceção lançada.
+     * @param request A requisição HTTP que gerou a exceção.
+     * @return Um {@link ResponseEntity} contendo {@link ErrorMessage} com detalhes do erro.
+     */
+    @ExceptionHandler({OrderStatusConflictException.class, IdempotencyKeyConflictException.class})
+    public ResponseEntity<ErrorMessage> conflictException(
+            RuntimeException ex,
+            HttpServletRequest request
+    ) {
+        logClientError(HttpStatus.CONFLICT, request, ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.CONFLICT, ex.getMessage()));
+    }
+
+    /**
+     * Manipula exceções do tipo {@link IdempotencyKeyMismatchException}.
+     *
+     * <p>Retorna uma resposta com status HTTP 422 (Unprocessable Entity) quando a chave de idempotência
+     * é repetida com um conteúdo diferente do da requisição original.</p>
+     *
+     * @param ex      A exceção lançada.
+     * @param request A requisição HTTP que gerou a exceção.
+     * @return Um {@link ResponseEntity} contendo {@link ErrorMessage} com detalhes do erro.
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorMessage> idempotencyKeyMismatchException(
+            RuntimeException ex,
+            HttpServletRequest request
+    ) {
+        logClientError(HttpStatus.UNPROCESSABLE_ENTITY, request, ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage()));
+    }
+
+    /**
+     * Manipula exceções do tipo {@link ServiceOverloadedException}.
+     *
+     * <p>Retorna uma resposta com status HTTP 503 (Service Unavailable) e o cabeçalho {@code Retry-After}
+     * indicando em quantos segundos a requisição pode ser repetida.</p>
+     *
+     * @param ex      A exceção lançada.
+     * @param request A requisição HTTP que gerou a exceção.
+     * @return Um {@link ResponseEntity} contendo {@link ErrorMessage} com detalhes do erro.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorMessage> serviceOverloadedException(
+            ServiceOverloadedException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Api Error - {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
     /**
      * Manipula exceções do tipo {@link MethodArgumentNotValidException}.
      *
@@ -73,10 +187,64 @@ public class ApiExceptionHandler {
             HttpServletRequest request,
             BindingResult result
     ) {
-        log.error("Api Error - ", ex);
+        logClientError(HttpStatus.UNPROCESSABLE_ENTITY, request, "campos inválidos " + result.getFieldErrors().stream()
+                .map(FieldError::getField)
+                .distinct()
+                .collect(Collectors.joining(", ", "[", "]")));
         return ResponseEntity
                 .status(HttpStatus.UNPROCESSABLE_ENTITY)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, "Campo(s) inválido(s)", result));
     }
+
+    /**
+     * Manipula exceções do tipo {@link HandlerMethodValidationException}.
+     *
+     * <p>Retorna uma resposta com status HTTP 400 (Bad Request) quando uma restrição declarada em um parâmetro
+     * do controlador, como o tamanho máximo do cabeçalho {@code Idempotency-Key}, não é atendida. Os erros
+     * são indexados pelo nome do cabeçalho ou parâmetro da requisição.</p>
+     *
+     * @param ex      A exceção lançada contendo os erros de validação.
+     * @param request A requisição HTTP que gerou a exceção.
+     * @return Um {@link ResponseEntity} contendo {@link ErrorMessage} com detalhes dos parâmetros inválidos.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorMessage> handlerMethodValidationException(
+            HandlerMethodValidationException ex,
+            HttpServletRequest request
+    ) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            result.getResolvableErrors().forEach(error ->
+                    errors.putIfAbsent(parameterName(result.getMethodParameter()), error.getDefaultMessage()));
+        }
+        logClientError(HttpStatus.BAD_REQUEST, request, "parâmetros inválidos " + errors.keySet());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, "Parâmetro(s) inválido(s)", errors));
+    }
+
+    /**
+     * Nome do parâmetro como o cliente o envia: o do cabeçalho ou do parâmetro de consulta, se declarado.
+     */
+    private static String parameterName(MethodParameter parameter) {
+        RequestHeader header = parameter.getParameterAnnotation(RequestHeader.class);
+        if (header != null && !header.name().isEmpty()) {
+            return header.name();
+        }
+        RequestParam param = parameter.getParameterAnnotation(RequestParam.class);
+        if (param != null && !param.name().isEmpty()) {
+            return param.name();
+        }
+        return parameter.getParameterName();
+    }
+
+    /**
+     * Erros de cliente (4xx) fazem parte do uso normal da API: registra status, método, rota e mensagem em uma
+     * linha, sem stack trace.
+     */
+    private static void logClientError(HttpStatus status, HttpServletRequest request, String message) {
+        log.warn("Api Error - {} {} {}: {}", status.value(), request.getMethod(), request.getRequestURI(), message);
+    }
 }
@@ -92,6 +92,24 @@ public class ErrorMessage {
         addErrors(result);
     }
 
+    /**
+     * Construtor para criação de uma mensagem de erro com falhas de validação de parâmetros da requisição
+     * (cabeçalhos, parâmetros de consulta ou de caminho).
+     *
+     * @param request Objeto que contém informações sobre a requisição HTTP.
+     * @param status  Status HTTP a ser retornado.
+     * @param message Mensagem descritiva do erro.
+     * @param errors  Nome de cada parâmetro inválido e a mensagem correspondente.
+     */
+    public ErrorMessage(HttpServletRequest request, HttpStatus status, String message, Map<String, String> errors) {
+        this.path = request.getRequestURI();
+        this.method = request.getMethod();
+        this.status = status.value();
+        this.statusText = status.getReasonPhrase();
+        this.message = message;
+        this.errors = errors;
+    }
+
     /**
      * Método auxiliar responsável por extrair os erros de validação do {@link BindingResult}
      * e adicioná-los ao mapa {@code errors}, associando o nome do campo à mensagem de erro.
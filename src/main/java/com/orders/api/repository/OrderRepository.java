@@ -1,17 +1,88 @@
 package com.orders.api.repository;
 
+import com.orders.api.dto.OrderResponse;
 import com.orders.api.entity.Order;
+import com.orders.api.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, String> {
+public interface OrderRepository extends JpaRepository<Order, String>, OrderRepositoryCustom {
 
-    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items")
-    List<Order> findAllWithItems();
+    /**
+     * Primeira página de ids, do pedido mais recente para o mais antigo.
+     */
+    @Query("SELECT o.id FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<String> findPageIds(Limit limit);
 
-    @Query("SELECT o FROM Order o WHERE o.clientId = :clientId")
-    List<Order> findByClientId(@Param("clientId") String clientId);
+    /**
+     * Página de ids seguinte ao cursor {@code (createdAt, id)}, na mesma ordenação de {@link #findPageIds(Limit)}.
+     */
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<String> findPageIdsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+
+    /**
+     * Carrega os pedidos informados com seus itens. Usado em conjunto com as consultas de ids paginadas,
+     * já que um fetch join com limite faria o Hibernate paginar em memória.
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Carrega um pedido com itens e produtos, no formato devolvido por {@code POST /orders}.
+     */
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") String id);
+
+    /**
+     * Histórico de pedidos do cliente projetado diretamente em {@link OrderResponse}, sem itens.
+     * Seleciona apenas as colunas da resposta e é atendido pelo índice {@code (client_id, created_at)}.
+     */
+    @Query("SELECT new com.orders.api.dto.OrderResponse(o.id, o.clientId, o.total, o.createdAt) " +
+            "FROM Order o WHERE o.clientId = :clientId")
+    Slice<OrderResponse> findSummariesByClientId(@Param("clientId") String clientId, Pageable pageable);
+
+    /**
+     * Move o pedido de {@code expected} para {@code target} em um único comando condicional.
+     *
+     * @return 1 se o pedido estava no status esperado e foi atualizado; 0 caso contrário.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :target, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.status = :expected")
+    int updateStatus(@Param("id") String id,
+                     @Param("expected") OrderStatus expected,
+                     @Param("target") OrderStatus target);
+
+    /**
+     * Seleciona e bloqueia ({@code SELECT ... FOR UPDATE}), dentre os ids informados, os pedidos que estão no status dado.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status = :status")
+    List<String> lockIdsByStatus(@Param("ids") Collection<String> ids, @Param("status") OrderStatus status);
+
+    /**
+     * Versão em massa de {@link #updateStatus(String, OrderStatus, OrderStatus)}.
+     *
+     * @return Quantidade de pedidos atualizados.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :target, o.version = o.version + 1 " +
+            "WHERE o.id IN :ids AND o.status = :expected")
+    int updateStatusIn(@Param("ids") Collection<String> ids,
+                       @Param("expected") OrderStatus expected,
+                       @Param("target") OrderStatus target);
 }
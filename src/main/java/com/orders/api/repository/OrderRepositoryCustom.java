@@ -0,0 +1,24 @@
+package com.orders.api.repository;
+
+import com.orders.api.entity.Order;
+
+import java.util.stream.Stream;
+
+/**
+ * Consultas de {@link Order} que não podem ser expressas com {@code @Query},
+ * implementadas em {@link OrderRepositoryImpl}.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Percorre todos os pedidos com seus itens, do mais antigo para o mais recente, sem materializar o resultado.
+     * <p>
+     * Deve ser consumido dentro de uma transação e fechado ao final. No MySQL, {@code Integer.MIN_VALUE}
+     * como fetch size faz o driver trazer as linhas uma a uma em vez de carregar o resultado inteiro.
+     * </p>
+     *
+     * @param fetchSize Fetch size JDBC aplicado à consulta.
+     * @return Stream somente leitura e de leitura única dos pedidos.
+     */
+    Stream<Order> streamAllWithItems(int fetchSize);
+}
@@ -0,0 +1,24 @@
+package com.orders.api.repository;
+
+import com.orders.api.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Order> streamAllWithItems(int fetchSize) {
+        // Ordenar pela raiz mantém as linhas de um mesmo pedido contíguas no fetch join
+        return entityManager.createQuery(
+                        "SELECT o FROM Order o LEFT JOIN FETCH o.items ORDER BY o.createdAt, o.id", Order.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,37 @@
+package com.orders.api.repository;
+
+import com.orders.api.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Seleciona e bloqueia os próximos eventos não publicados, em ordem de id.
+     * O bloqueio serializa relays concorrentes: um segundo relay aguarda e passa a ver os eventos já publicados.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> lockUnpublished(Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.position), 0) FROM OutboxEvent e")
+    long findLastPosition();
+
+    /**
+     * Eventos publicados após a posição informada, na ordem de publicação.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.position > :after ORDER BY e.position")
+    List<OutboxEvent> findPublishedAfter(@Param("after") long after, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,39 @@
+package com.orders.api.repository;
+
+import com.orders.api.entity.PaymentRequest;
+import com.orders.api.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentRequestRepository extends JpaRepository<PaymentRequest, String> {
+
+    /**
+     * Cobranças gravadas antes de {@code before} cujo pedido ainda está no status informado, da mais antiga
+     * para a mais recente.
+     */
+    @Query("SELECT r FROM PaymentRequest r WHERE r.createdAt < :before " +
+            "AND EXISTS (SELECT o.id FROM Order o WHERE o.id = r.orderId AND o.status = :status) " +
+            "ORDER BY r.createdAt")
+    List<PaymentRequest> findCreatedBefore(@Param("before") LocalDateTime before,
+                                           @Param("status") OrderStatus status,
+                                           Limit limit);
+
+    /**
+     * Remove as cobranças gravadas antes de {@code before} cujo pedido já saiu do status informado por outro
+     * caminho (ex.: transição manual).
+     */
+    @Modifying
+    @Query("DELETE FROM PaymentRequest r WHERE r.createdAt < :before " +
+            "AND NOT EXISTS (SELECT o.id FROM Order o WHERE o.id = r.orderId AND o.status = :status)")
+    int deleteSettledBefore(@Param("before") LocalDateTime before, @Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("DELETE FROM PaymentRequest r WHERE r.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") String orderId);
+}
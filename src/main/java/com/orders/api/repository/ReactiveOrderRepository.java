@@ -0,0 +1,89 @@
+package com.orders.api.repository;
+
+import com.orders.api.dto.OrderItemResponse;
+import com.orders.api.dto.OrderResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Consultas não bloqueantes (R2DBC) de leitura de pedidos.
+ * <p>
+ * Não usa o contexto de persistência do JPA: as linhas são lidas sob demanda do consumidor e convertidas
+ * diretamente nos DTOs de resposta.
+ * </p>
+ */
+@Repository
+public class ReactiveOrderRepository {
+
+    private static final String CLIENT_ORDERS = """
+            SELECT o.id, o.client_id, o.total, o.created_at,
+                   i.id AS item_id, i.quantity, i.price, i.product_id
+            FROM (SELECT id, client_id, total, created_at
+                  FROM orders
+                  WHERE client_id = :clientId
+                  ORDER BY created_at DESC, id DESC
+                  LIMIT :limit) o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            ORDER BY o.created_at DESC, o.id DESC, i.id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveOrderRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Lê os pedidos mais recentes do cliente com seus itens em uma única consulta.
+     * As linhas chegam agrupadas por pedido, então cada pedido é emitido assim que seus itens terminam,
+     * mantendo em memória apenas o pedido corrente.
+     *
+     * @param clientId ID do cliente.
+     * @param limit    Quantidade máxima de pedidos.
+     * @return Os pedidos, do mais recente para o mais antigo.
+     */
+    public Flux<OrderResponse> findByClientId(String clientId, int limit) {
+        return databaseClient.sql(CLIENT_ORDERS)
+                .bind("clientId", clientId)
+                .bind("limit", limit)
+                .map(OrderRow::of)
+                .all()
+                .bufferUntilChanged(OrderRow::orderId)
+                .map(ReactiveOrderRepository::toResponse);
+    }
+
+    private static OrderResponse toResponse(List<OrderRow> rows) {
+        OrderRow first = rows.get(0);
+        OrderResponse response = new OrderResponse(first.orderId(), first.clientId(), first.total(), first.createdAt());
+        response.setItems(rows.stream()
+                .map(OrderRow::item)
+                .filter(Objects::nonNull)
+                .toList());
+        return response;
+    }
+
+    private record OrderRow(String orderId, String clientId, BigDecimal total, LocalDateTime createdAt,
+                            OrderItemResponse item) {
+
+        static OrderRow of(Readable row) {
+            OrderItemResponse item = null;
+            Long itemId = row.get("item_id", Long.class);
+            if (itemId != null) {
+                item = new OrderItemResponse();
+                item.setId(itemId);
+                item.setQuantity(row.get("quantity", Integer.class));
+                item.setPrice(row.get("price", BigDecimal.class));
+                item.setProductId(row.get("product_id", String.class));
+            }
+            return new OrderRow(row.get("id", String.class), row.get("client_id", String.class),
+                    row.get("total", BigDecimal.class), row.get("created_at", LocalDateTime.class), item);
+        }
+    }
+}
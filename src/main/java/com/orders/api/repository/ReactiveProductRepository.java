@@ -0,0 +1,48 @@
+package com.orders.api.repository;
+
+import com.orders.api.entity.Product;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Consultas não bloqueantes (R2DBC) de leitura de produtos.
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "SELECT id, name, description, image_url, price FROM products";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Product> findAll() {
+        return databaseClient.sql(COLUMNS + " ORDER BY name, id")
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Mono<Product> findById(String id) {
+        return databaseClient.sql(COLUMNS + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    private static Product toProduct(Readable row) {
+        Product product = new Product();
+        product.setId(row.get("id", String.class));
+        product.setName(row.get("name", String.class));
+        product.setDescription(row.get("description", String.class));
+        product.setImageUrl(row.get("image_url", String.class));
+        product.setPrice(row.get("price", BigDecimal.class));
+        return product;
+    }
+}
@@ -0,0 +1,27 @@
+package com.orders.api.resource;
+
+import com.orders.api.dto.OrderEventFeed;
+import com.orders.api.service.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/orders/events")
+public class OrderEventResource {
+
+    private final OutboxService outboxService;
+
+    @Autowired
+    public OrderEventResource(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @GetMapping
+    public OrderEventFeed findAfter(@RequestParam(defaultValue = "0") long after,
+                                    @RequestParam(defaultValue = "100") int limit) {
+        return outboxService.findPublishedAfter(after, limit);
+    }
+}
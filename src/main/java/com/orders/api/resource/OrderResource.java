@@ -1,39 +1,108 @@
 package com.orders.api.resource;
 
+import com.orders.api.dto.BatchOrderResponse;
+import com.orders.api.dto.BulkStatusUpdateDto;
+import com.orders.api.dto.BulkStatusUpdateResponse;
+import com.orders.api.dto.CreateOrderBatchDto;
 import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.CursorPage;
 import com.orders.api.dto.OrderResponse;
+import com.orders.api.dto.PageResponse;
 import com.orders.api.entity.Order;
+import com.orders.api.entity.exception.InvalidSortDirectionException;
+import com.orders.api.service.IdempotencyService;
+import com.orders.api.service.OrderBatchService;
+import com.orders.api.service.OrderExportService;
 import com.orders.api.service.OrderService;
+import com.orders.api.service.OrderStatusBulkService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.security.Principal;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderResource {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderExportService orderExportService;
+    private final OrderStatusBulkService orderStatusBulkService;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public OrderResource(OrderService orderService) {
+    public OrderResource(OrderService orderService,
+                         OrderBatchService orderBatchService,
+                         OrderExportService orderExportService,
+                         OrderStatusBulkService orderStatusBulkService,
+                         IdempotencyService idempotencyService) {
         this.orderService = orderService;
+        this.orderBatchService = orderBatchService;
+        this.orderExportService = orderExportService;
+        this.orderStatusBulkService = orderStatusBulkService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
-    public Order create(@Valid @RequestBody CreateOrderDto createOrderDto) {
-        return orderService.create(createOrderDto);
+    public Order create(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 128) String idempotencyKey,
+                        @Valid @RequestBody CreateOrderDto createOrderDto,
+                        Principal principal) {
+        return idempotencyService.create(principal.getName(), idempotencyKey, createOrderDto);
+    }
+
+    @PostMapping("/batch")
+    public BatchOrderResponse createBatch(@Valid @RequestBody CreateOrderBatchDto batch) {
+        return orderBatchService.createAll(batch.getOrders());
+    }
+
+    @PostMapping("/{id}/pay")
+    public ResponseEntity<Void> pay(@PathVariable String id) {
+        orderService.pay(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/fail")
+    public ResponseEntity<Void> fail(@PathVariable String id) {
+        orderService.fail(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/status")
+    public BulkStatusUpdateResponse updateStatus(@Valid @RequestBody BulkStatusUpdateDto bulkStatusUpdateDto) {
+        return orderStatusBulkService.transitionAll(bulkStatusUpdateDto.getIds(), bulkStatusUpdateDto.getStatus());
     }
 
     @GetMapping
-    public List<OrderResponse> findAll() {
-        return orderService.findAll();
+    public CursorPage<OrderResponse> findAll(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int size) {
+        return orderService.findPage(cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\"");
+        orderExportService.exportNdjson(response.getOutputStream());
     }
 
     @GetMapping("/client/{id}")
-    public List<OrderResponse> findByClientId(@PathVariable String id) {
-        return orderService.findByClientId(id);
+    public PageResponse<OrderResponse> findByClientId(@PathVariable String id,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size,
+                                                      @RequestParam(defaultValue = "desc") String direction) {
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new InvalidSortDirectionException("Direção de ordenação inválida: use asc ou desc"));
+        return orderService.findByClientId(id, page, size, sortDirection);
     }
 //
 //    @GetMapping("/{id}")
@@ -0,0 +1,60 @@
+package com.orders.api.resource;
+
+import com.orders.api.dto.OrderResponse;
+import com.orders.api.entity.Product;
+import com.orders.api.repository.ReactiveOrderRepository;
+import com.orders.api.repository.ReactiveProductRepository;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rotas de leitura não bloqueantes, paralelas a {@link OrderResource} e {@link ProductResource}.
+ * <p>
+ * As consultas usam R2DBC e as listas são transmitidas como NDJSON: cada elemento é escrito assim que chega
+ * do banco e a leitura avança conforme o cliente consome a resposta, sem ocupar uma thread durante a espera
+ * pelo banco.
+ * </p>
+ */
+@RestController
+@RequestMapping("/reactive")
+public class ReactiveResource {
+
+    /**
+     * Quantidade máxima de pedidos por consulta de cliente.
+     */
+    public static final int MAX_CLIENT_ORDERS = 1000;
+
+    private final ReactiveOrderRepository reactiveOrderRepository;
+    private final ReactiveProductRepository reactiveProductRepository;
+
+    public ReactiveResource(ReactiveOrderRepository reactiveOrderRepository,
+                            ReactiveProductRepository reactiveProductRepository) {
+        this.reactiveOrderRepository = reactiveOrderRepository;
+        this.reactiveProductRepository = reactiveProductRepository;
+    }
+
+    @GetMapping(value = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Product> findProducts() {
+        return reactiveProductRepository.findAll();
+    }
+
+    @GetMapping("/products/{id}")
+    public Mono<ResponseEntity<Product>> findProduct(@PathVariable String id) {
+        return reactiveProductRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/orders/client/{id}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> findByClientId(@PathVariable String id,
+                                              @RequestParam(defaultValue = "100") int limit) {
+        return reactiveOrderRepository.findByClientId(id, Math.max(1, Math.min(limit, MAX_CLIENT_ORDERS)));
+    }
+}
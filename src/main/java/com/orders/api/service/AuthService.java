@@ -4,52 +4,133 @@ import com.orders.api.dto.AuthRequest;
 import com.orders.api.dto.AuthResponse;
 import com.orders.api.dto.RegisterRequest;
 import com.orders.api.entity.User;
+import com.orders.api.entity.exception.ServiceOverloadedException;
 import com.orders.api.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Cadastro e autenticação de usuários.
+ * <p>
+ * O hash e a verificação de senhas são delegados ao {@link PasswordHashingService}; os métodos devolvem
+ * futures para que a thread da requisição seja liberada enquanto o BCrypt executa.
+ * </p>
+ * <p>
+ * O que vem depois do hash (gravar o usuário, gerar o token) roda no executor de tarefas da aplicação, não nas
+ * threads do BCrypt: uma thread de hash parada à espera de uma conexão do pool atrasaria todos os logins da fila.
+ * </p>
+ */
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenRevocationService tokenRevocationService;
+    private final Executor taskExecutor;
+
+    public AuthService(UserRepository userRepository,
+                       JwtService jwtService,
+                       PasswordHashingService passwordHashingService,
+                       TokenRevocationService tokenRevocationService,
+                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                       Executor taskExecutor) {
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.passwordHashingService = passwordHashingService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.taskExecutor = taskExecutor;
+    }
 
-    public AuthResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
 
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
             throw new IllegalArgumentException("Usuário já cadastrado.");
         }
 
-        User user = User.builder()
-                .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .role("USER")
-                .build();
+        return passwordHashingService.encode(request.getPassword()).thenApplyAsync(encodedPassword -> {
+            User user = User.builder()
+                    .username(request.getUsername())
+                    .password(encodedPassword)
+                    .role("USER")
+                    .build();
 
-        userRepository.save(user);
+            userRepository.save(user);
 
-        String token = jwtService.generateToken(user);
-        Long expiresAtTimestamp = jwtService.getExpirationTimestamp();
+            String token = jwtService.generateToken(user);
+            Long expiresAtTimestamp = jwtService.getExpirationTimestamp();
 
-        return new AuthResponse(token, expiresAtTimestamp);
+            return new AuthResponse(token, expiresAtTimestamp);
+        }, taskExecutor);
     }
 
-    public AuthResponse authenticate(AuthRequest request) {
+    public CompletableFuture<AuthResponse> authenticate(AuthRequest request) {
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new BadCredentialsException("Credenciais inválidas");
+        return passwordHashingService.matches(request.getPassword(), user.getPassword()).thenApplyAsync(matches -> {
+            if (!matches) {
+                throw new BadCredentialsException("Credenciais inválidas");
+            }
+
+            if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+                rehash(user, request.getPassword());
+            }
+
+            String token = jwtService.generateToken(user);
+            Long expiresAt = jwtService.getExpirationTimestamp();
+            return new AuthResponse(token, expiresAt);
+        }, taskExecutor);
+    }
+
+    /**
+     * Revoga o token informado até a sua expiração.
+     *
+     * @param token Token JWT a ser revogado.
+     * @throws BadCredentialsException Se o token for inválido, estiver expirado ou não puder ser revogado.
+     */
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new BadCredentialsException("Token inválido");
+        }
+        if (claims.getId() == null) {
+            throw new BadCredentialsException("Token não pode ser revogado");
         }
 
-        String token = jwtService.generateToken(user);
-        Long expiresAt = jwtService.getExpirationTimestamp();
-        return new AuthResponse(token, expiresAt);
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        jwtService.evict(token);
     }
-}
 
+    /**
+     * Refaz o hash da senha com o custo configurado, sem atrasar a resposta do login.
+     * Se o pool estiver saturado o hash é mantido e refeito em um próximo login.
+     */
+    private void rehash(User user, String rawPassword) {
+        try {
+            passwordHashingService.encode(rawPassword)
+                    .thenAcceptAsync(encodedPassword -> userRepository.updatePassword(user.getId(), encodedPassword),
+                            taskExecutor)
+                    .exceptionally(ex -> {
+                        log.warn("Falha ao atualizar o hash da senha do usuário {}", user.getId(), ex);
+                        return null;
+                    });
+        } catch (ServiceOverloadedException ex) {
+            log.debug("Atualização do hash da senha do usuário {} adiada", user.getId());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.orders.api.service;
+
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.IdempotencyKey;
+import com.orders.api.entity.IdempotencyKeyId;
+import com.orders.api.entity.Order;
+import com.orders.api.entity.exception.EntityNotFoundException;
+import com.orders.api.entity.exception.IdempotencyKeyConflictException;
+import com.orders.api.entity.exception.IdempotencyKeyMismatchException;
+import com.orders.api.repository.IdempotencyKeyRepository;
+import com.orders.api.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serviço de criação idempotente de pedidos a partir do cabeçalho {@code Idempotency-Key}.
+ * <p>
+ * As chaves recentes ficam em um mapa em memória limitado a {@code orders.idempotency.max-entries} entradas
+ * e expiradas após {@code orders.idempotency.ttl}. Cada entrada guarda o resultado (id do pedido) de uma
+ * criação em andamento ou concluída, de modo que uma requisição duplicada concorrente aguarda o resultado
+ * da primeira em vez de inserir outro pedido.
+ * </p>
+ * <p>
+ * A chave vale dentro do usuário autenticado ({@link IdempotencyKeyId}): a mesma chave enviada por outro
+ * usuário cria outro pedido. Cada chave guarda também o hash SHA-256 do conteúdo da requisição original, e
+ * repetir a chave com outro conteúdo é recusado com {@link IdempotencyKeyMismatchException}.
+ * </p>
+ * <p>
+ * A tabela {@code idempotency_keys} é a referência entre instâncias e reinícios: a chave é gravada na mesma
+ * transação do pedido, e uma violação da chave primária indica que outra instância já processou a chave.
+ * </p>
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Duration waitTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<IdempotencyKeyId, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyService(OrderService orderService,
+                              OrderRepository orderRepository,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${orders.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${orders.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${orders.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Cria o pedido uma única vez por usuário e chave. Sem chave, delega diretamente para
+     * {@link OrderService#create}.
+     *
+     * @param username Usuário autenticado que enviou a requisição.
+     * @param key      Valor do cabeçalho {@code Idempotency-Key}, ou {@code null}.
+     * @param dto      Objeto contendo os itens do pedido.
+     * @return O pedido criado, ou o pedido originalmente criado pelo mesmo usuário com a mesma chave.
+     * @throws IdempotencyKeyConflictException Se a requisição original com a mesma chave não terminar a tempo.
+     * @throws IdempotencyKeyMismatchException Se a chave já foi usada pelo usuário com outro conteúdo.
+     */
+    public Order create(String username, String key, CreateOrderDto dto) {
+        if (key == null || key.isBlank()) {
+            return orderService.create(dto);
+        }
+
+        IdempotencyKeyId id = new IdempotencyKeyId(username, key);
+        String requestHash = requestHash(dto);
+        Entry entry;
+        boolean owner = false;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            evictExpired(now);
+            entry = entries.get(id);
+            if (entry == null) {
+                entry = new Entry(now + ttl.toNanos(), requestHash);
+                entries.put(id, entry);
+                owner = true;
+                if (entries.size() > maxEntries) {
+                    evictEldest();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!owner) {
+            checkSameRequest(key, entry.requestHash, requestHash);
+            return findOrder(await(id, entry));
+        }
+
+        try {
+            Order order = createOrReplay(id, requestHash, dto);
+            entry.result.complete(order.getId());
+            return order;
+        } catch (RuntimeException ex) {
+            // Falhas não são memorizadas: a próxima tentativa com a mesma chave executa novamente
+            remove(id, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Order createOrReplay(IdempotencyKeyId id, String requestHash, CreateOrderDto dto) {
+        Optional<IdempotencyKey> stored = idempotencyKeyRepository.findById(id);
+        if (stored.isPresent()) {
+            return replay(stored.get(), requestHash);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Order order = orderService.create(dto);
+                idempotencyKeyRepository.save(new IdempotencyKey(id, order.getId(), requestHash));
+                return order;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Outra instância gravou a mesma chave primeiro; o pedido desta transação foi desfeito
+            IdempotencyKey winner = idempotencyKeyRepository.findById(id).orElseThrow(() -> ex);
+            log.info("Chave de idempotência {} já processada por outra instância", id);
+            return replay(winner, requestHash);
+        }
+    }
+
+    private Order replay(IdempotencyKey stored, String requestHash) {
+        checkSameRequest(stored.getId().getKey(), stored.getRequestHash(), requestHash);
+        return findOrder(stored.getOrderId());
+    }
+
+    private static void checkSameRequest(String key, String originalHash, String requestHash) {
+        if (!originalHash.equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(
+                    "A chave " + key + " já foi usada em uma requisição com outro conteúdo");
+        }
+    }
+
+    /**
+     * Hash SHA-256 do conteúdo do pedido. Preços são normalizados ({@code 10} e {@code 10.00} são o mesmo
+     * valor) e cada campo é seguido de um separador, para que campos vizinhos não se confundam.
+     */
+    static String requestHash(CreateOrderDto dto) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(ex);
+        }
+        update(digest, dto.getClientId());
+        update(digest, dto.getCardHash());
+        if (dto.getItems() != null) {
+            for (OrderItemDto item : dto.getItems()) {
+                update(digest, String.valueOf(item.getQuantity()));
+                update(digest, item.getProductId());
+                BigDecimal price = item.getPrice();
+                update(digest, price == null ? null : price.stripTrailingZeros().toPlainString());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) (value == null ? 1 : 0));
+    }
+
+    private String await(IdempotencyKeyId key, Entry entry) {
+        try {
+            return entry.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyConflictException("Requisição com a chave " + key.getKey() + " ainda em processamento");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyConflictException("Requisição com a chave " + key.getKey() + " ainda em processamento");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private Order findOrder(String orderId) {
+        return orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+    }
+
+    private void remove(IdempotencyKeyId key, Entry entry) {
+        lock.lock();
+        try {
+            entries.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * As entradas são inseridas em ordem de expiração, então basta remover a partir da mais antiga.
+     */
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    private void evictEldest() {
+        Iterator<Map.Entry<IdempotencyKeyId, Entry>> iterator = entries.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    /**
+     * Remove periodicamente as chaves persistidas que já passaram do TTL.
+     */
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        int removed = transactionTemplate.execute(status ->
+                idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+        if (removed > 0) {
+            log.info("{} chaves de idempotência expiradas removidas", removed);
+        }
+    }
+
+    private static final class Entry {
+        private final long expiresAt;
+        private final String requestHash;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        private Entry(long expiresAt, String requestHash) {
+            this.expiresAt = expiresAt;
+            this.requestHash = requestHash;
+        }
+    }
+}
@@ -1,19 +1,36 @@
 package com.orders.api.service;
 
 import com.orders.api.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Serviço para geração, extração e validação de tokens JWT (JSON Web Tokens).
  * <p>
  * Utiliza uma chave secreta HMAC-SHA256 para assinar e validar os tokens.
- * Os tokens gerados contêm o nome do usuário como "subject" e a role do usuário como claim personalizada.
+ * Os tokens gerados contêm o nome do usuário como "subject" e a role e o id do usuário como claims personalizadas,
+ * o que permite montar o usuário autenticado sem consultar o banco.
+ * </p>
+ * <p>
+ * Tokens já verificados ficam em um cache limitado a {@code security.jwt.token-cache.max-entries} entradas até a
+ * sua expiração, evitando repetir a verificação HMAC e o parsing a cada requisição do mesmo cliente. Acertos e
+ * falhas são expostos na métrica {@code security.jwt.token.cache}; a latência da verificação (falhas de cache)
+ * em {@code security.jwt.verify}.
  * </p>
  */
 @Service
@@ -35,6 +52,46 @@ public class JwtService {
      */
     private final long EXPIRATION_MILLIS = 1000 * 60 * 60;
 
+    /**
+     * Claim com o id do usuário.
+     */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /**
+     * Claim com a role do usuário.
+     */
+    public static final String ROLE_CLAIM = "role";
+
+    /**
+     * Parser reutilizado entre requisições; é imutável e thread-safe.
+     */
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
+    private final VerifiedTokenCache tokenCache;
+
+    private final Timer verifyTimer;
+
+    public JwtService(MeterRegistry meterRegistry,
+                      @Value("${security.jwt.token-cache.max-entries:50000}") int tokenCacheMaxEntries) {
+        this.tokenCache = new VerifiedTokenCache(tokenCacheMaxEntries);
+        this.verifyTimer = Timer.builder("security.jwt.verify")
+                .description("Latência da verificação de assinatura e parsing de tokens fora do cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.jwt.token.cache", tokenCache, VerifiedTokenCache::hits)
+                .description("Tokens resolvidos pelo cache de tokens verificados")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.jwt.token.cache", tokenCache, VerifiedTokenCache::misses)
+                .description("Tokens resolvidos pelo cache de tokens verificados")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.token.cache.size", tokenCache, VerifiedTokenCache::size)
+                .description("Tokens verificados em cache")
+                .register(meterRegistry);
+    }
+
     /**
      * Gera um token JWT para o usuário informado.
      *
@@ -43,8 +100,10 @@ public class JwtService {
      */
     public String generateToken(User user) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())     // jti, usado na revogação (logout)
                 .setSubject(user.getUsername())        // identifica o usuário
-                .claim("role", user.getRole())          // adiciona role como claim personalizada
+                .claim(ROLE_CLAIM, user.getRole())      // adiciona role como claim personalizada
+                .claim(USER_ID_CLAIM, user.getId())     // adiciona o id para dispensar a consulta ao banco
                 .setIssuedAt(new Date())                 // data de emissão do token
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_MILLIS))  // data de expiração
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS256)  // assina o token usando HMAC SHA-256
@@ -60,6 +119,62 @@ public class JwtService {
         return System.currentTimeMillis() + EXPIRATION_MILLIS;
     }
 
+    /**
+     * Verifica a assinatura e a expiração do token e devolve suas claims.
+     * O token é decodificado e verificado uma única vez por chamada; tokens já verificados e ainda válidos
+     * são resolvidos pelo cache.
+     *
+     * @param token Token JWT assinado.
+     * @return Claims do token.
+     * @throws io.jsonwebtoken.JwtException se o token for inválido, mal formatado ou estiver expirado.
+     */
+    public Claims parseClaims(String token) {
+        Claims claims = tokenCache.get(token);
+        if (claims == null) {
+            long start = System.nanoTime();
+            try {
+                claims = parser.parseClaimsJws(token).getBody();
+            } finally {
+                verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            tokenCache.put(token, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Remove o token do cache de tokens verificados.
+     *
+     * @param token Token JWT assinado.
+     */
+    public void evict(String token) {
+        tokenCache.remove(token);
+    }
+
+    /**
+     * Remove do cache os tokens expirados.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.token-cache.evict-interval:PT1M}")
+    public void evictExpiredTokens() {
+        tokenCache.evictExpired();
+    }
+
+    /**
+     * Monta o usuário autenticado a partir das claims de um token já verificado.
+     * Tokens emitidos antes da claim {@value #USER_ID_CLAIM} resultam em um usuário sem id.
+     *
+     * @param claims Claims obtidas por {@link #parseClaims(String)}.
+     * @return Usuário com username, role e id; sem senha.
+     */
+    public User toPrincipal(Claims claims) {
+        Number id = claims.get(USER_ID_CLAIM, Number.class);
+        return User.builder()
+                .id(id != null ? id.longValue() : null)
+                .username(claims.getSubject())
+                .role(claims.get(ROLE_CLAIM, String.class))
+                .build();
+    }
+
     /**
      * Extrai o nome do usuário (subject) de um token JWT válido.
      *
@@ -68,11 +183,7 @@ public class JwtService {
      * @throws io.jsonwebtoken.JwtException se o token for inválido ou mal formatado.
      */
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     /**
@@ -84,23 +195,18 @@ public class JwtService {
      * @return {@code true} se o token é válido e corresponde ao usuário; {@code false} caso contrário.
      */
     public boolean validateToken(String token, User user) {
-        final String username = extractUsername(token);
-        return (username.equals(user.getUsername()) && !isTokenExpired(token));
+        final Claims claims = parseClaims(token);
+        return (claims.getSubject().equals(user.getUsername()) && !isTokenExpired(claims));
     }
 
     /**
      * Verifica se um token JWT já expirou.
      *
-     * @param token Token JWT a ser verificado.
+     * @param claims Claims do token a ser verificado.
      * @return {@code true} se o token está expirado; {@code false} caso contrário.
      */
-    private boolean isTokenExpired(String token) {
-        final Date expiration = Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        final Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 }
-
@@ -0,0 +1,165 @@
+package com.orders.api.service;
+
+import com.orders.api.dto.BatchOrderResponse;
+import com.orders.api.dto.BatchOrderResult;
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Order;
+import com.orders.api.entity.Product;
+import com.orders.api.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço responsável pela ingestão de pedidos em lote.
+ * <p>
+ * Os pedidos válidos são persistidos em blocos de {@code orders.batch.chunk-size} pedidos por transação.
+ * Em cada bloco os produtos são carregados em uma única consulta e os inserts de pedidos, itens e
+ * eventos {@code ORDER_CREATED} da outbox são enviados em lotes JDBC ({@code hibernate.jdbc.batch_size}).
+ * Se o flush de um bloco falhar, os pedidos desse bloco são reprocessados um a um para isolar o pedido com problema.
+ */
+@Service
+public class OrderBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBatchService.class);
+
+    private final OrderService orderService;
+    private final ProductRepository productRepository;
+    private final OutboxService outboxService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public OrderBatchService(OrderService orderService,
+                             ProductRepository productRepository,
+                             OutboxService outboxService,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             @Value("${orders.batch.chunk-size:500}") int chunkSize) {
+        this.orderService = orderService;
+        this.productRepository = productRepository;
+        this.outboxService = outboxService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Valida e persiste um lote de pedidos.
+     *
+     * @param dtos Pedidos recebidos, na ordem enviada pelo cliente.
+     * @return O resultado de cada pedido (sucesso com id gerado ou falha com motivo), na mesma ordem.
+     */
+    public BatchOrderResponse createAll(List<CreateOrderDto> dtos) {
+        BatchOrderResult[] results = new BatchOrderResult[dtos.size()];
+        List<Integer> valid = new ArrayList<>(dtos.size());
+
+        for (int i = 0; i < dtos.size(); i++) {
+            String violations = validate(dtos.get(i));
+            if (violations == null) {
+                valid.add(i);
+            } else {
+                results[i] = BatchOrderResult.failure(i, violations);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            for (BatchOrderResult result : persistChunkIsolatingFailures(chunk, dtos)) {
+                results[result.getIndex()] = result;
+            }
+        }
+
+        return new BatchOrderResponse(Arrays.asList(results));
+    }
+
+    private List<BatchOrderResult> persistChunkIsolatingFailures(List<Integer> chunk, List<CreateOrderDto> dtos) {
+        try {
+            return transactionTemplate.execute(status -> persistChunk(chunk, dtos));
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao persistir bloco de {} pedidos, reprocessando individualmente", chunk.size(), ex);
+        }
+
+        List<BatchOrderResult> results = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            try {
+                results.addAll(transactionTemplate.execute(status -> persistChunk(List.of(index), dtos)));
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao persistir pedido {} do lote", index, ex);
+                results.add(BatchOrderResult.failure(index, "Falha ao persistir pedido"));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Persiste um bloco de pedidos na transação corrente.
+     * Pedidos que referenciam produtos inexistentes são reportados como falha e não são persistidos.
+     */
+    private List<BatchOrderResult> persistChunk(List<Integer> chunk, List<CreateOrderDto> dtos) {
+        Set<String> productIds = chunk.stream()
+                .flatMap(index -> dtos.get(index).getItems().stream())
+                .map(OrderItemDto::getProductId)
+                .collect(Collectors.toSet());
+
+        Map<String, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BatchOrderResult> results = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            CreateOrderDto dto = dtos.get(index);
+
+            Set<String> missing = dto.getItems().stream()
+                    .map(OrderItemDto::getProductId)
+                    .filter(productId -> !products.containsKey(productId))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (!missing.isEmpty()) {
+                results.add(BatchOrderResult.failure(index, "Produto(s) não encontrado(s): " + String.join(", ", missing)));
+                continue;
+            }
+
+            Order order = orderService.newOrder(dto, products);
+            entityManager.persist(order);
+            outboxService.orderCreated(orderService.mapToResponse(order));
+            orderService.requestPayment(order, dto.getCardHash());
+            results.add(BatchOrderResult.success(index, order.getId()));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return results;
+    }
+
+    private String validate(CreateOrderDto dto) {
+        if (dto == null) {
+            return "Pedido obrigatório";
+        }
+        Set<ConstraintViolation<CreateOrderDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
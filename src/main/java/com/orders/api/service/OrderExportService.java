@@ -0,0 +1,82 @@
+package com.orders.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orders.api.entity.Order;
+import com.orders.api.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de exportação do histórico completo de pedidos em NDJSON (um {@code OrderResponse} por linha).
+ * <p>
+ * Os pedidos são lidos de um cursor somente leitura e escritos na saída à medida que são mapeados,
+ * sem montar a lista em memória. O contexto de persistência é limpo a cada
+ * {@code orders.export.clear-every} pedidos, mantendo o consumo de memória constante
+ * independentemente do tamanho da tabela.
+ * </p>
+ */
+@Service
+public class OrderExportService {
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final int fetchSize;
+    private final int clearEvery;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              OrderService orderService,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              @Value("${orders.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize,
+                              @Value("${orders.export.clear-every:500}") int clearEvery) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.entityManager = entityManager;
+        // Cada linha é escrita no buffer do gerador; o flush é feito junto com a limpeza do contexto
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+        this.clearEvery = clearEvery;
+    }
+
+    /**
+     * Escreve todos os pedidos, do mais antigo para o mais recente, como NDJSON.
+     *
+     * @param out Saída da resposta; não é fechada por este método.
+     * @return Quantidade de pedidos exportados.
+     * @throws IOException Se a escrita na saída falhar (por exemplo, cliente desconectado).
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Order> orders = orderRepository.streamAllWithItems(fetchSize);
+             JsonGenerator generator = writer.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, orderService.mapToResponse(iterator.next()));
+                generator.writeRaw('\n');
+
+                if (++count % clearEvery == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            generator.flush();
+        }
+        return count;
+    }
+}
@@ -1,21 +1,44 @@
 package com.orders.api.service;
 
+import com.orders.api.config.QueryCountInspector;
 import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.CursorPage;
+import com.orders.api.dto.OrderItemDto;
 import com.orders.api.dto.OrderItemResponse;
 import com.orders.api.dto.OrderResponse;
+import com.orders.api.dto.PageResponse;
 import com.orders.api.entity.Order;
 import com.orders.api.entity.OrderItem;
+import com.orders.api.entity.PaymentRequest;
 import com.orders.api.entity.Product;
+import com.orders.api.entity.exception.EntityNotFoundException;
+import com.orders.api.entity.exception.InvalidCursorException;
+import com.orders.api.entity.exception.OrderStatusConflictException;
 import com.orders.api.enums.OrderStatus;
 import com.orders.api.repository.OrderRepository;
+import com.orders.api.repository.PaymentRequestRepository;
 import com.orders.api.repository.ProductRepository;
-import jakarta.persistence.EntityNotFoundException;
+import com.orders.api.service.payment.PaymentRequestedEvent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.hibernate.query.Page;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -27,50 +50,173 @@ import java.util.stream.Collectors;
 @Service
 public class OrderService {
 
+    /**
+     * Tamanho máximo de página aceito na listagem de pedidos.
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Métrica de latência das operações do serviço, com a tag {@code operation}.
+     */
+    private static final String OPERATION_TIMER = "orders.service";
+
     @Autowired
     private final OrderRepository orderRepository;
 
     @Autowired
     private final ProductRepository productRepository;
 
+    private final OutboxService outboxService;
+
+    private final PaymentRequestRepository paymentRequestRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Distribuição da quantidade de comandos SQL executados por {@link #create(CreateOrderDto)}.
+     */
+    private final DistributionSummary createStatements;
+
     /**
      * Construtor para injeção de dependências.
      *
-     * @param orderRepository   Repositório para a entidade Order.
-     * @param productRepository Repositório para a entidade Product.
+     * @param orderRepository          Repositório para a entidade Order.
+     * @param productRepository        Repositório para a entidade Product.
+     * @param outboxService            Serviço de gravação de eventos na outbox.
+     * @param paymentRequestRepository Repositório das cobranças pendentes.
+     * @param eventPublisher           Publicador dos eventos de pagamento.
+     * @param meterRegistry            Registro de métricas da aplicação.
      */
-    public OrderService(OrderRepository orderRepository, ProductRepository productRepository) {
+    public OrderService(OrderRepository orderRepository,
+                        ProductRepository productRepository,
+                        OutboxService outboxService,
+                        PaymentRequestRepository paymentRequestRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
+        this.outboxService = outboxService;
+        this.paymentRequestRepository = paymentRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.createStatements = DistributionSummary.builder("orders.create.statements")
+                .description("Comandos SQL executados na criação de um pedido")
+                .baseUnit("statements")
+                .register(meterRegistry);
     }
 
 
-    public List<OrderResponse> findAll() {
-        return orderRepository.findAllWithItems()
-                .stream()
-                .map(order -> mapToResponse(order))
-                .collect(Collectors.toList());
+    /**
+     * Lista os pedidos paginando por chave {@code (createdAt, id)}, do mais recente para o mais antigo.
+     * <p>
+     * A página é resolvida em duas consultas: a primeira seleciona apenas os ids da página usando o índice
+     * {@code (created_at, id)}; a segunda carrega esses pedidos com seus itens. Assim nenhuma consulta percorre
+     * a tabela inteira e o fetch join não precisa ser combinado com limite.
+     * </p>
+     *
+     * @param cursor Cursor opaco retornado pela página anterior, ou {@code null} para a primeira página.
+     * @param size   Quantidade de pedidos por página, limitada a {@value #MAX_PAGE_SIZE}.
+     * @return A página de pedidos e o cursor da próxima página, se houver.
+     * @throws InvalidCursorException Se o cursor informado for inválido.
+     */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "findAll"})
+    public CursorPage<OrderResponse> findPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<String> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = orderRepository.findPageIds(limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            ids = orderRepository.findPageIdsAfter(position.getCreatedAt(), position.getId(), limit);
+        }
+
+        boolean hasNext = ids.size() > pageSize;
+        List<String> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        // O IN não preserva a ordem da página; reordena conforme os ids selecionados
+        Map<String, Order> orders = orderRepository.findAllWithItemsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<Order> page = pageIds.stream()
+                .map(orders::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        String next = hasNext && !page.isEmpty() ? OrderCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(this::mapToResponse).toList(), next);
     }
 
     /**
      * Cria um novo pedido com os dados fornecidos.
      * Associa os produtos aos itens do pedido e calcula o valor total.
+     * <p>
+     * Todos os produtos do pedido são carregados em uma única consulta, de modo que a criação executa
+     * um número constante de comandos SQL independentemente da quantidade de itens. A quantidade de
+     * comandos é registrada na métrica {@code orders.create.statements}.
+     * O evento {@code ORDER_CREATED} é gravado na outbox na mesma transação.
+     * Se o pedido tiver {@code cardHash}, a cobrança é enfileirada após o commit e o pedido é devolvido em PENDING.
+     * </p>
      *
      * @param dto Objeto contendo os itens do pedido.
      * @return O pedido criado e persistido.
-     * @throws RuntimeException Se algum produto informado não for encontrado.
+     * @throws EntityNotFoundException Se algum produto informado não for encontrado; a mensagem lista todos os ids ausentes.
      */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "create"})
+    @Transactional
     public Order create(CreateOrderDto dto) {
+        long statementsBefore = QueryCountInspector.current();
+
+        Order saved = orderRepository.save(newOrder(dto, findProducts(dto)));
+        outboxService.orderCreated(mapToResponse(saved));
+        requestPayment(saved, dto.getCardHash());
+        // Flush explícito: os inserts entram na métrica mesmo quando há uma transação externa
+        orderRepository.flush();
+
+        createStatements.record(QueryCountInspector.current() - statementsBefore);
+        return saved;
+    }
+
+    /**
+     * Carrega, em uma única consulta, todos os produtos referenciados pelos itens do pedido.
+     *
+     * @param dto Objeto contendo os itens do pedido.
+     * @return Produtos indexados pelo id.
+     * @throws EntityNotFoundException Se algum produto não existir.
+     */
+    private Map<String, Product> findProducts(CreateOrderDto dto) {
+        Set<String> productIds = dto.getItems().stream()
+                .map(OrderItemDto::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        if (products.size() < productIds.size()) {
+            List<String> missing = productIds.stream()
+                    .filter(productId -> !products.containsKey(productId))
+                    .toList();
+            throw new EntityNotFoundException("Produto(s) não encontrado(s): " + String.join(", ", missing));
+        }
+        return products;
+    }
+
+    /**
+     * Monta um novo pedido (ainda não persistido) a partir do DTO, usando produtos já carregados.
+     *
+     * @param dto      Objeto contendo os itens do pedido.
+     * @param products Produtos indexados pelo id; deve conter todos os produtos referenciados pelo DTO.
+     * @return O pedido com itens associados e total calculado.
+     */
+    Order newOrder(CreateOrderDto dto, Map<String, Product> products) {
         Order order = new Order();
         order.setClientId(dto.getClientId());
 
         List<OrderItem> items = dto.getItems().stream().map(input -> {
             OrderItem item = new OrderItem();
-
-            Product product = productRepository.findById(input.getProductId())
-                    .orElseThrow(() -> new RuntimeException("Produto não encontrado: " + input.getProductId()));
-
-            item.setProduct(product);
+            item.setProduct(products.get(input.getProductId()));
             item.setQuantity(input.getQuantity());
             item.setPrice(input.getPrice());
             item.setOrder(order);
@@ -79,26 +225,37 @@ public class OrderService {
 
         order.setItems(items);
         order.setTotal(order.calculateTotal());
+        return order;
+    }
 
-        return orderRepository.save(order);
+    /**
+     * Solicita a cobrança assíncrona do pedido quando um {@code cardHash} foi informado.
+     * A cobrança é gravada na transação corrente, junto com o pedido, e o evento só é entregue ao estágio de
+     * pagamento se a transação for confirmada.
+     */
+    void requestPayment(Order order, String cardHash) {
+        if (cardHash != null && !cardHash.isBlank()) {
+            paymentRequestRepository.save(new PaymentRequest(order.getId(), cardHash, order.getTotal()));
+            eventPublisher.publishEvent(new PaymentRequestedEvent(order.getId(), cardHash, order.getTotal()));
+        }
     }
 
     /**
      * Processa o pagamento de um pedido.
      * Apenas pedidos com status PENDING podem ser pagos.
+     * <p>
+     * A verificação e a atualização do status são feitas em um único {@code UPDATE} condicional, de modo que
+     * callbacks de pagamento concorrentes não conseguem pagar o mesmo pedido duas vezes.
+     * </p>
      *
      * @param orderId UUID do pedido a ser pago.
-     * @return O pedido atualizado com status PAID.
-     * @throws IllegalStateException   Se o pedido não estiver no status PENDING.
-     * @throws EntityNotFoundException Se o pedido não for encontrado.
+     * @throws OrderStatusConflictException Se o pedido não estiver no status PENDING.
+     * @throws EntityNotFoundException      Se o pedido não for encontrado.
      */
-    public Order pay(String orderId) {
-        Order order = findById(orderId);
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new IllegalStateException("O pedido não pode ser pago");
-        }
-        order.setStatus(OrderStatus.PAID);
-        return orderRepository.save(order);
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "pay"})
+    @Transactional
+    public void pay(String orderId) {
+        transition(orderId, OrderStatus.PAID, "O pedido não pode ser pago");
     }
 
     /**
@@ -106,17 +263,29 @@ public class OrderService {
      * Apenas pedidos com status PENDING podem ser marcados como FAILED.
      *
      * @param orderId UUID do pedido a ser marcado como falhado.
-     * @return O pedido atualizado com status FAILED.
-     * @throws IllegalStateException   Se o pedido não estiver no status PENDING.
-     * @throws EntityNotFoundException Se o pedido não for encontrado.
+     * @throws OrderStatusConflictException Se o pedido não estiver no status PENDING.
+     * @throws EntityNotFoundException      Se o pedido não for encontrado.
+     */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "fail"})
+    @Transactional
+    public void fail(String orderId) {
+        transition(orderId, OrderStatus.FAILED, "O pedido não pode ser marcado como falhado");
+    }
+
+    /**
+     * Aplica a transição PENDING -> {@code target}. No caminho de sucesso executa apenas o {@code UPDATE}
+     * (e o insert do evento na outbox); a consulta de existência só é feita para distinguir pedido
+     * inexistente de status inválido.
      */
-    public Order fail(String orderId) {
-        Order order = findById(orderId);
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new IllegalStateException("O pedido não pode ser marcado como falhado");
+    private void transition(String orderId, OrderStatus target, String conflictMessage) {
+        if (orderRepository.updateStatus(orderId, OrderStatus.PENDING, target) == 1) {
+            outboxService.statusChanged(orderId, target);
+            return;
+        }
+        if (!orderRepository.existsById(orderId)) {
+            throw new EntityNotFoundException("Pedido não encontrado");
         }
-        order.setStatus(OrderStatus.FAILED);
-        return orderRepository.save(order);
+        throw new OrderStatusConflictException(conflictMessage);
     }
 
     /**
@@ -132,36 +301,35 @@ public class OrderService {
     }
 
     /**
-     * Busca um pedido pelo seu UUID.
+     * Lista o histórico de pedidos de um cliente, ordenado pela data de criação.
+     * <p>
+     * Os pedidos são projetados diretamente em {@link OrderResponse} (sem itens) e paginados sem consulta
+     * de contagem: uma única consulta atendida pelo índice {@code (client_id, created_at)} por página.
+     * </p>
      *
-     * @param id UUID do pedido.
-     * @return O pedido encontrado.
-     * @throws EntityNotFoundException Se o pedido não for encontrado.
+     * @param id        Id do cliente.
+     * @param page      Número da página, a partir de 0.
+     * @param size      Quantidade de pedidos por página, limitada a {@value #MAX_PAGE_SIZE}.
+     * @param direction Direção da ordenação por data de criação.
+     * @return A página de pedidos do cliente.
+     * @throws EntityNotFoundException Se o cliente não possuir nenhum pedido.
      */
-    public List<OrderResponse> findByClientId(String id) {
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "findByClientId"})
+    public PageResponse<OrderResponse> findByClientId(String id, int page, int size, Sort.Direction direction) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Sort sort = Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
 
-        List<Order> orders = orderRepository.findByClientId(id);
+        Slice<OrderResponse> orders = orderRepository.findSummariesByClientId(
+                id, PageRequest.of(Math.max(page, 0), pageSize, sort));
 
-        if (orders.isEmpty()) {
+        if (orders.isFirst() && !orders.hasContent()) {
             throw new EntityNotFoundException("Nenhum pedido encontrado para o cliente com ID: " + id);
         }
 
-        // Converter cada Order para OrderResponse
-        return orders.stream()
-                .map(order -> {
-                    OrderResponse response = new OrderResponse();
-                    response.setId(order.getId());
-                    response.setClientId(order.getClientId());
-                    response.setTotal(order.getTotal());
-                    response.setCreatedAt(order.getCreatedAt());
-                    return response;
-                })
-                .toList();
+        return new PageResponse<>(orders.getContent(), orders.getNumber(), pageSize, orders.hasNext());
     }
 
-
-
-    private OrderResponse mapToResponse(Order order) {
+    OrderResponse mapToResponse(Order order) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setClientId(order.getClientId());
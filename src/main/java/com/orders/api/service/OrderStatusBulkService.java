@@ -0,0 +1,83 @@
+package com.orders.api.service;
+
+import com.orders.api.dto.BulkStatusUpdateResponse;
+import com.orders.api.enums.OrderStatus;
+import com.orders.api.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serviço de transição de status em massa (arquivos de liquidação do provedor de pagamento).
+ * <p>
+ * Os ids são processados em blocos de {@code orders.bulk-status.chunk-size}, cada um em sua própria transação
+ * com dois comandos: um {@code SELECT ... FOR UPDATE} que identifica quais pedidos do bloco ainda estão em
+ * PENDING e um {@code UPDATE} set-based que os move para o status de destino. Pedidos inexistentes ou que já
+ * saíram de PENDING são ignorados e devolvidos em {@code skippedIds}. Os eventos de outbox dos pedidos
+ * atualizados são gravados na mesma transação do bloco.
+ * </p>
+ */
+@Service
+public class OrderStatusBulkService {
+
+    private final OrderRepository orderRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderStatusBulkService(OrderRepository orderRepository,
+                                  OutboxService outboxService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${orders.bulk-status.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Move para {@code target} todos os pedidos informados que ainda estão em PENDING.
+     *
+     * @param ids    Ids dos pedidos; duplicados são desconsiderados.
+     * @param target Status de destino (PAID ou FAILED).
+     * @return Contagens da operação e os ids ignorados, na ordem recebida.
+     */
+    public BulkStatusUpdateResponse transitionAll(List<String> ids, OrderStatus target) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<String> skipped = new ArrayList<>();
+        int updated = 0;
+
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<String> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            Set<String> pending = transactionTemplate.execute(status -> transitionChunk(chunk, target));
+
+            updated += pending.size();
+            for (String id : chunk) {
+                if (!pending.contains(id)) {
+                    skipped.add(id);
+                }
+            }
+        }
+
+        return new BulkStatusUpdateResponse(target, distinct.size(), updated, skipped);
+    }
+
+    /**
+     * @return Ids do bloco que estavam em PENDING e foram atualizados.
+     */
+    private Set<String> transitionChunk(List<String> chunk, OrderStatus target) {
+        Set<String> pending = new HashSet<>(orderRepository.lockIdsByStatus(chunk, OrderStatus.PENDING));
+        if (!pending.isEmpty()) {
+            orderRepository.updateStatusIn(pending, OrderStatus.PENDING, target);
+            outboxService.statusChanged(pending, target);
+        }
+        return pending;
+    }
+}
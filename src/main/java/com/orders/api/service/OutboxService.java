@@ -0,0 +1,107 @@
+package com.orders.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.api.dto.OrderEventFeed;
+import com.orders.api.dto.OrderEventResponse;
+import com.orders.api.dto.OrderResponse;
+import com.orders.api.entity.OutboxEvent;
+import com.orders.api.enums.OrderStatus;
+import com.orders.api.enums.OutboxEventType;
+import com.orders.api.repository.OutboxEventRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava eventos do ciclo de vida dos pedidos na tabela de outbox.
+ * <p>
+ * Os métodos exigem uma transação ativa: o evento só existe se a alteração do pedido for confirmada,
+ * e a publicação para os consumidores fica a cargo do {@link com.orders.api.service.outbox.OutboxRelay}.
+ * </p>
+ */
+@Service
+public class OutboxService {
+
+    /**
+     * Quantidade máxima de eventos devolvidos por leitura do feed.
+     */
+    public static final int MAX_FEED_SIZE = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registra a criação de um pedido, com o pedido completo como payload.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(OrderResponse order) {
+        outboxEventRepository.save(new OutboxEvent(OutboxEventType.ORDER_CREATED, order.getId(), toJson(order)));
+    }
+
+    /**
+     * Registra a transição de status de um pedido.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(String orderId, OrderStatus status) {
+        outboxEventRepository.save(statusEvent(orderId, status));
+    }
+
+    /**
+     * Registra a mesma transição de status para vários pedidos; os inserts são enviados em lote.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Collection<String> orderIds, OrderStatus status) {
+        List<OutboxEvent> events = orderIds.stream()
+                .map(orderId -> statusEvent(orderId, status))
+                .toList();
+        outboxEventRepository.saveAll(events);
+    }
+
+    private OutboxEvent statusEvent(String orderId, OrderStatus status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", orderId);
+        payload.put("status", status);
+        OutboxEventType type = status == OrderStatus.PAID ? OutboxEventType.ORDER_PAID : OutboxEventType.ORDER_FAILED;
+        return new OutboxEvent(type, orderId, toJson(payload));
+    }
+
+    /**
+     * Lê incrementalmente os eventos já publicados pelo relay.
+     *
+     * @param after Última posição lida pelo consumidor (0 para começar do início).
+     * @param limit Quantidade máxima de eventos, limitada a {@value #MAX_FEED_SIZE}.
+     * @return Os eventos seguintes a {@code after} e a posição a ser usada na próxima leitura.
+     */
+    @Transactional(readOnly = true)
+    public OrderEventFeed findPublishedAfter(long after, int limit) {
+        List<OrderEventResponse> events = outboxEventRepository
+                .findPublishedAfter(after, Limit.of(Math.max(1, Math.min(limit, MAX_FEED_SIZE))))
+                .stream()
+                .map(event -> new OrderEventResponse(event.getPosition(), event.getType(), event.getAggregateId(),
+                        event.getCreatedAt(), event.getPayload()))
+                .toList();
+
+        long lastPosition = events.isEmpty() ? after : events.get(events.size() - 1).getPosition();
+        return new OrderEventFeed(events, lastPosition);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar evento de outbox", ex);
+        }
+    }
+}
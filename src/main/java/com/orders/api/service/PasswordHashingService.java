@@ -0,0 +1,116 @@
+package com.orders.api.service;
+
+import com.orders.api.entity.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa o hash e a verificação de senhas (BCrypt) fora das threads de requisição.
+ * <p>
+ * As operações rodam em um pool de {@code security.password.pool-size} threads com fila de
+ * {@code security.password.queue-capacity} posições. Com a fila cheia a operação é rejeitada
+ * imediatamente com {@link ServiceOverloadedException} (HTTP 503 com {@code Retry-After}), de modo que
+ * uma rajada de logins não consuma as threads que atendem os pedidos.
+ * </p>
+ * <p>
+ * Métricas: {@code security.password.hash} (latência por operação), {@code security.password.queue.depth}
+ * e {@code security.password.rejected}.
+ * </p>
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.password.pool-size:0}") int poolSize,
+                                  @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password.retry-after:PT1S}") Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfter = retryAfter;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.encodeTimer = Timer.builder("security.password.hash")
+                .description("Latência do hash e da verificação de senhas")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("security.password.hash")
+                .description("Latência do hash e da verificação de senhas")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.password.rejected")
+                .description("Operações de senha rejeitadas por saturação do pool")
+                .register(meterRegistry);
+        Gauge.builder("security.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Operações de senha aguardando uma thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gera o hash da senha.
+     *
+     * @throws ServiceOverloadedException Se o pool estiver saturado.
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifica a senha contra o hash armazenado.
+     *
+     * @throws ServiceOverloadedException Se o pool estiver saturado.
+     */
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * @return {@code true} se o hash foi gerado com custo menor que o configurado e deve ser refeito.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(operation), executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Serviço de autenticação sobrecarregado, tente novamente", retryAfter);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,175 @@
+package com.orders.api.service;
+
+import com.orders.api.entity.RevokedToken;
+import com.orders.api.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revogação de tokens JWT pelo {@code jti}.
+ * <p>
+ * Os tokens revogados ficam na tabela {@code revoked_tokens}; na frente dela há um {@link BloomFilter} em
+ * memória reconstruído a cada {@code security.jwt.revocation.rebuild-interval}. A consulta ao banco só
+ * acontece quando o filtro indica que o token pode estar revogado, de modo que o caso comum (token válido)
+ * não toca o banco.
+ * </p>
+ * <p>
+ * Revogações feitas nesta instância entram no filtro imediatamente; as feitas em outras instâncias passam a
+ * valer na próxima reconstrução.
+ * </p>
+ * <p>
+ * A primeira carga acontece no início do ciclo de vida do contexto, antes de o servidor web aceitar
+ * requisições, e não na criação do bean: assim a execução de treino do AppCDS
+ * ({@code spring.context.exit=onRefresh}, ver {@code Dockerfile}) sobe o contexto sem banco de dados.
+ * </p>
+ */
+@Service
+public class TokenRevocationService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * Fase anterior à do servidor web embutido ({@code DEFAULT_PHASE - 2048}).
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Revogações locais desde o início da última reconstrução, reaplicadas no filtro novo.
+     */
+    private volatile Set<String> recentlyRevoked = ConcurrentHashMap.newKeySet();
+
+    private final Counter filterNegatives;
+    private final Counter databaseHits;
+    private final Counter falsePositives;
+
+    private volatile boolean running;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+                                  @Value("${security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+
+        this.filterNegatives = revocationChecks(meterRegistry, "filter-negative");
+        this.databaseHits = revocationChecks(meterRegistry, "revoked");
+        this.falsePositives = revocationChecks(meterRegistry, "false-positive");
+    }
+
+    /**
+     * Verifica se o token foi revogado. Tokens sem {@code jti} não são revogáveis.
+     *
+     * @param jti Identificador do token.
+     * @return {@code true} se o token foi revogado.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!filter.mightContain(jti)) {
+            filterNegatives.increment();
+            return false;
+        }
+        if (revokedTokenRepository.existsById(jti)) {
+            databaseHits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revoga o token até a sua expiração.
+     *
+     * @param jti       Identificador do token.
+     * @param expiresAt Expiração do token.
+     */
+    public void revoke(String jti, Date expiresAt) {
+        if (!revokedTokenRepository.existsById(jti)) {
+            try {
+                revokedTokenRepository.save(new RevokedToken(jti,
+                        LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+            } catch (DataIntegrityViolationException ex) {
+                // Logout concorrente do mesmo token
+                log.debug("Token {} já revogado", jti);
+            }
+        }
+        recentlyRevoked.add(jti);
+        filter.put(jti);
+    }
+
+    /**
+     * Reconstrói o filtro a partir dos tokens revogados ainda não expirados e remove os expirados.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.rebuild-interval:PT30S}",
+            initialDelayString = "${security.jwt.revocation.rebuild-interval:PT30S}")
+    public void rebuild() {
+        Set<String> carried = recentlyRevoked;
+        Set<String> current = ConcurrentHashMap.newKeySet();
+        recentlyRevoked = current;
+
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        List<String> active = revokedTokenRepository.findActiveJtis(now);
+
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedInsertions, active.size() * 2), falsePositiveRate);
+        active.forEach(rebuilt::put);
+        carried.forEach(rebuilt::put);
+        current.forEach(rebuilt::put);
+        filter = rebuilt;
+        // Revogações que chegaram ao filtro antigo durante a troca
+        current.forEach(rebuilt::put);
+
+        log.debug("Filtro de tokens revogados reconstruído com {} tokens", active.size());
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static Counter revocationChecks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("security.jwt.revocation.checks")
+                .description("Verificações de revogação de tokens")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -2,17 +2,70 @@ package com.orders.api.service;
 
 import com.orders.api.entity.User;
 import com.orders.api.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
 
+    /**
+     * Cache de curta duração usado pela autenticação quando o usuário precisa ser conferido no banco.
+     */
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+    private final long cacheTtlMillis;
+    private final int cacheMaxEntries;
+
+    public UserService(UserRepository userRepository,
+                       @Value("${security.jwt.user-cache.ttl:PT30S}") Duration cacheTtl,
+                       @Value("${security.jwt.user-cache.max-entries:10000}") int cacheMaxEntries) {
+        this.userRepository = userRepository;
+        this.cacheTtlMillis = cacheTtl.toMillis();
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
+
+    /**
+     * Busca o usuário pelo username reaproveitando consultas feitas há menos de
+     * {@code security.jwt.user-cache.ttl}. Usuários inexistentes também são mantidos em cache.
+     *
+     * @param username Nome do usuário.
+     * @return O usuário, se existir.
+     */
+    public Optional<User> findCachedByUsername(String username) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = cache.get(username);
+        if (cached != null && cached.expiresAt > now) {
+            return Optional.ofNullable(cached.user);
+        }
+
+        if (cache.size() >= cacheMaxEntries) {
+            cache.values().removeIf(entry -> entry.expiresAt <= now);
+            if (cache.size() >= cacheMaxEntries) {
+                cache.clear();
+            }
+        }
+
+        User user = userRepository.findByUsername(username).orElse(null);
+        cache.put(username, new CachedUser(user, now + cacheTtlMillis));
+        return Optional.ofNullable(user);
+    }
+
+    private static final class CachedUser {
+        private final User user;
+        private final long expiresAt;
+
+        private CachedUser(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
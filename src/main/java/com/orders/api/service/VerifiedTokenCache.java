@@ -0,0 +1,106 @@
+package com.orders.api.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de tokens JWT já verificados, usado pelo {@link JwtService} antes da verificação completa.
+ * <p>
+ * A chave é o SHA-256 do token, de modo que o cache não retém os tokens em si e cada chave ocupa
+ * tamanho fixo. Cada entrada vale até a expiração do token. Com o cache cheio ({@code maxEntries}),
+ * novos tokens deixam de ser armazenados até que {@link #evictExpired()} libere espaço, o que limita
+ * a memória mesmo sob uma enxurrada de tokens distintos.
+ * </p>
+ */
+class VerifiedTokenCache {
+
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return As claims do token, se ele já tiver sido verificado e ainda não tiver expirado.
+     */
+    Claims get(String token) {
+        ByteBuffer key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return entry.claims;
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Armazena as claims de um token recém-verificado. Tokens sem expiração não são armazenados.
+     */
+    void put(String token, Claims claims) {
+        if (claims.getExpiration() == null || entries.size() >= maxEntries) {
+            return;
+        }
+        entries.put(digest(token), new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    void remove(String token) {
+        entries.remove(digest(token));
+    }
+
+    /**
+     * Remove as entradas de tokens expirados.
+     *
+     * @return Quantidade de entradas removidas.
+     */
+    int evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        return Math.max(0, before - entries.size());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class Entry {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.orders.api.service.outbox;
+
+import com.orders.api.entity.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sink em memória para testes: guarda os eventos publicados para inspeção.
+ * Habilitado com {@code orders.outbox.memory-sink.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.memory-sink.enabled", havingValue = "true")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        this.events.addAll(events);
+    }
+
+    public List<OutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,61 @@
+package com.orders.api.service.outbox;
+
+import com.orders.api.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink local: acrescenta cada evento como uma linha JSON no arquivo {@code orders.outbox.local-sink.file},
+ * ou, se nenhum arquivo for configurado, escreve o evento no log {@code outbox}.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.local-sink.enabled", havingValue = "true", matchIfMissing = true)
+public class LocalOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger("outbox");
+
+    private final Path file;
+
+    public LocalOutboxSink(@Value("${orders.outbox.local-sink.file:}") String file) {
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        if (file == null) {
+            events.forEach(event -> log.info(line(event)));
+            return;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : events) {
+                writer.write(line(event));
+                writer.newLine();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao escrever eventos de outbox em " + file, ex);
+        }
+    }
+
+    private String line(OutboxEvent event) {
+        // O payload já é JSON; apenas o envelope é montado aqui
+        return "{\"position\":" + event.getPosition()
+                + ",\"type\":\"" + event.getType()
+                + "\",\"aggregateId\":\"" + event.getAggregateId()
+                + "\",\"createdAt\":\"" + event.getCreatedAt()
+                + "\",\"payload\":" + event.getPayload() + "}";
+    }
+}
@@ -0,0 +1,102 @@
+package com.orders.api.service.outbox;
+
+import com.orders.api.entity.OutboxEvent;
+import com.orders.api.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drena periodicamente a tabela de outbox para os {@link OutboxSink} configurados.
+ * <p>
+ * Cada lote de até {@code orders.outbox.relay.batch-size} eventos é processado em uma transação: os eventos
+ * pendentes são bloqueados em ordem de id, recebem posições sequenciais a partir da última publicada, são
+ * entregues aos sinks e marcados como publicados. Se algum sink falhar, a transação é desfeita e o lote é
+ * reenviado no próximo ciclo.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${orders.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${orders.outbox.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Publica lotes enquanto houver lotes completos pendentes.
+     *
+     * @return Quantidade de eventos publicados.
+     */
+    @Scheduled(fixedDelayString = "${orders.outbox.relay.interval:PT1S}")
+    public int relay() {
+        int total = 0;
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+                total += published;
+            } while (published == batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao publicar eventos de outbox; nova tentativa no próximo ciclo", ex);
+        }
+        return total;
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        long position = outboxEventRepository.findLastPosition();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            event.setPosition(++position);
+            event.setPublishedAt(now);
+        }
+
+        for (OutboxSink sink : sinks) {
+            sink.publish(events);
+        }
+        return events.size();
+    }
+
+    /**
+     * Remove os eventos publicados há mais de {@code orders.outbox.retention}.
+     */
+    @Scheduled(fixedDelayString = "${orders.outbox.purge-interval:PT1H}")
+    public void purgePublished() {
+        int removed = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (removed > 0) {
+            log.info("{} eventos de outbox publicados removidos", removed);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.orders.api.service.outbox;
+
+import com.orders.api.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos drenados da outbox pelo {@link OutboxRelay}.
+ * <p>
+ * Recebe os eventos já com {@code position} atribuída, em ordem. Uma exceção desfaz o lote inteiro, que é
+ * reenviado no próximo ciclo: as implementações devem tolerar entregas repetidas (entrega at-least-once).
+ * </p>
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,25 @@
+package com.orders.api.service.payment;
+
+import java.math.BigDecimal;
+
+/**
+ * Gateway de pagamento utilizado pelo {@link PaymentProcessor}.
+ * <p>
+ * Implementações devem lançar {@link PaymentGatewayException} para falhas transitórias (timeout,
+ * indisponibilidade), que são retentadas, e devolver {@link PaymentResult#DECLINED} quando o pagamento
+ * for recusado de forma definitiva.
+ * </p>
+ */
+public interface PaymentGateway {
+
+    /**
+     * Efetua a cobrança do pedido.
+     *
+     * @param orderId  ID do pedido, usado como chave de idempotência da cobrança.
+     * @param cardHash Hash do cartão informado na criação do pedido.
+     * @param amount   Valor a ser cobrado.
+     * @return O resultado definitivo da cobrança.
+     * @throws PaymentGatewayException Se o gateway falhar de forma transitória.
+     */
+    PaymentResult charge(String orderId, String cardHash, BigDecimal amount);
+}
@@ -0,0 +1,15 @@
+package com.orders.api.service.payment;
+
+/**
+ * Falha transitória do gateway de pagamento. A cobrança pode ser retentada.
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
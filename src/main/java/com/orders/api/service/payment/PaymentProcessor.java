@@ -0,0 +1,328 @@
+package com.orders.api.service.payment;
+
+import com.orders.api.config.VirtualThreads;
+import com.orders.api.entity.PaymentRequest;
+import com.orders.api.entity.exception.EntityNotFoundException;
+import com.orders.api.entity.exception.OrderStatusConflictException;
+import com.orders.api.enums.OrderStatus;
+import com.orders.api.repository.PaymentRequestRepository;
+import com.orders.api.service.OrderService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estágio assíncrono de pagamento dos pedidos.
+ * <p>
+ * Pedidos criados com {@code cardHash} são enfileirados após o commit e cobrados por um pool de
+ * {@code orders.payment.max-concurrency} workers, que aplicam as transições pay/fail conforme o resultado do
+ * {@link PaymentGateway}. A requisição de criação não espera pela cobrança. No modo
+ * {@code spring.threads.virtual.enabled} os workers são virtual threads.
+ * </p>
+ * <p>
+ * A fila é limitada a {@code orders.payment.queue-capacity} pedidos. Cada cobrança é gravada em
+ * {@code payment_requests} junto com o pedido e removida quando o resultado é registrado. Com a fila cheia, a
+ * requisição não espera e o pedido continua PENDING: a cobrança fica gravada e é retomada pela recuperação
+ * periódica ({@code orders.payment.recovery.*}), que também retoma as cobranças perdidas em um reinício.
+ * Falhas transitórias do gateway são retentadas até {@code orders.payment.max-attempts} vezes com backoff
+ * exponencial e jitter. Esgotadas as tentativas o pedido continua PENDING, pois um timeout pode ter cobrado o
+ * cartão: a cobrança fica gravada para a recuperação, e só uma recusa definitiva (DECLINED) falha o pedido.
+ * </p>
+ * <p>
+ * A recuperação só considera cobranças gravadas há mais de {@code orders.payment.recovery.delay} e que não
+ * estejam em andamento nesta instância. Com várias instâncias, a mesma cobrança pode ser retomada por mais de
+ * uma; o id do pedido é a chave de idempotência da cobrança no gateway e as transições pay/fail só valem a
+ * partir de PENDING, de modo que o pedido é cobrado e atualizado uma única vez.
+ * </p>
+ * <p>
+ * Exige um {@link PaymentGateway}: o simulado só é registrado com {@code orders.payment.gateway=simulated}.
+ * Sem gateway a subida falha, a menos que o estágio seja desligado com {@code orders.payment.enabled=false};
+ * nesse caso as cobranças continuam gravadas e são processadas quando o estágio for religado.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "orders.payment.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentProcessor.class);
+
+    private final PaymentGateway paymentGateway;
+    private final OrderService orderService;
+    private final PaymentRequestRepository paymentRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer gatewayTimer;
+
+    /**
+     * Vagas de processamento: workers ocupados mais pedidos aguardando na fila.
+     */
+    private final Semaphore slots;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    /**
+     * Pedidos com cobrança em andamento nesta instância (na fila, no gateway ou aguardando retentativa),
+     * ignorados pela recuperação.
+     */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration recoveryDelay;
+    private final int recoveryBatchSize;
+
+    public PaymentProcessor(ObjectProvider<PaymentGateway> paymentGateway,
+                            OrderService orderService,
+                            PaymentRequestRepository paymentRequestRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${orders.payment.max-concurrency:64}") int maxConcurrency,
+                            @Value("${orders.payment.queue-capacity:10000}") int queueCapacity,
+                            @Value("${orders.payment.max-attempts:5}") int maxAttempts,
+                            @Value("${orders.payment.initial-backoff:PT0.2S}") Duration initialBackoff,
+                            @Value("${orders.payment.max-backoff:PT10S}") Duration maxBackoff,
+                            @Value("${orders.payment.recovery.delay:PT5M}") Duration recoveryDelay,
+                            @Value("${orders.payment.recovery.batch-size:500}") int recoveryBatchSize,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.paymentGateway = paymentGateway.getIfAvailable(() -> {
+            throw new IllegalStateException("Nenhum PaymentGateway configurado: informe orders.payment.gateway "
+                    + "ou desligue o estágio de pagamento com orders.payment.enabled=false");
+        });
+        this.orderService = orderService;
+        this.paymentRequestRepository = paymentRequestRepository;
+        // O listener roda após o commit da transação do pedido; as transições precisam de uma transação própria
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.recoveryDelay = recoveryDelay;
+        this.recoveryBatchSize = recoveryBatchSize;
+
+        this.slots = new Semaphore(maxConcurrency + queueCapacity);
+        this.workers = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), VirtualThreads.threadFactory("payment-", virtualThreads));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.gatewayTimer = Timer.builder("orders.payment.gateway")
+                .description("Latência das chamadas ao gateway de pagamento")
+                .register(meterRegistry);
+        Gauge.builder("orders.payment.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Pedidos aguardando um worker de pagamento")
+                .register(meterRegistry);
+        Gauge.builder("orders.payment.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Cobranças em andamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enfileira a cobrança de um pedido recém-criado.
+     * Executado na thread da requisição, somente após o commit da transação que criou o pedido; nunca bloqueia.
+     *
+     * @param event Dados da cobrança.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPaymentRequested(PaymentRequestedEvent event) {
+        if (!enqueue(event)) {
+            log.warn("Fila de pagamentos cheia; cobrança do pedido {} adiada para a recuperação", event.getOrderId());
+            meterRegistry.counter("orders.payment.results", "outcome", "deferred").increment();
+        }
+    }
+
+    /**
+     * Retoma as cobranças gravadas que não estão em andamento nesta instância: as que não couberam na fila e as
+     * perdidas em um reinício. Remove também as cobranças de pedidos que saíram de PENDING por outro caminho.
+     */
+    @Scheduled(fixedDelayString = "${orders.payment.recovery.interval:PT1M}",
+            initialDelayString = "${orders.payment.recovery.interval:PT1M}")
+    public void recoverPendingCharges() {
+        LocalDateTime before = LocalDateTime.now().minus(recoveryDelay);
+        List<PaymentRequest> pending = transactionTemplate.execute(status -> {
+            paymentRequestRepository.deleteSettledBefore(before, OrderStatus.PENDING);
+            return paymentRequestRepository.findCreatedBefore(before, OrderStatus.PENDING, Limit.of(recoveryBatchSize));
+        });
+
+        int resumed = 0;
+        for (PaymentRequest request : pending) {
+            if (inFlight.contains(request.getOrderId())) {
+                continue;
+            }
+            if (!enqueue(new PaymentRequestedEvent(request.getOrderId(), request.getCardHash(), request.getAmount()))) {
+                // Fila cheia: o restante fica para a próxima execução
+                break;
+            }
+            resumed++;
+        }
+        if (resumed > 0) {
+            log.info("{} cobranças pendentes retomadas", resumed);
+            meterRegistry.counter("orders.payment.recovered").increment(resumed);
+        }
+    }
+
+    /**
+     * Ocupa uma vaga sem bloquear e submete a primeira tentativa.
+     *
+     * @return {@code false} se a fila estiver cheia ou a cobrança já estiver em andamento nesta instância.
+     */
+    private boolean enqueue(PaymentRequestedEvent event) {
+        if (!inFlight.add(event.getOrderId())) {
+            return false;
+        }
+        if (!slots.tryAcquire()) {
+            inFlight.remove(event.getOrderId());
+            return false;
+        }
+        submit(event, 1);
+        return true;
+    }
+
+    /**
+     * Submete uma tentativa ao pool. Deve ser chamado com uma vaga já adquirida.
+     */
+    private void submit(PaymentRequestedEvent event, int attempt) {
+        try {
+            workers.execute(() -> {
+                try {
+                    charge(event, attempt);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            // Pool encerrado durante o shutdown da aplicação; a cobrança continua gravada
+            slots.release();
+            inFlight.remove(event.getOrderId());
+            log.warn("Cobrança do pedido {} não foi submetida", event.getOrderId(), ex);
+        }
+    }
+
+    private void charge(PaymentRequestedEvent event, int attempt) {
+        PaymentResult result;
+        try {
+            result = gatewayTimer.record(() ->
+                    paymentGateway.charge(event.getOrderId(), event.getCardHash(), event.getAmount()));
+        } catch (PaymentGatewayException ex) {
+            if (attempt >= maxAttempts) {
+                log.warn("Cobrança do pedido {} sem resposta definitiva após {} tentativas; adiada para a recuperação",
+                        event.getOrderId(), attempt, ex);
+                inFlight.remove(event.getOrderId());
+                meterRegistry.counter("orders.payment.results", "outcome", "exhausted").increment();
+            } else {
+                log.debug("Falha transitória na cobrança do pedido {} (tentativa {})", event.getOrderId(), attempt, ex);
+                scheduleRetry(event, attempt + 1);
+            }
+            return;
+        }
+        complete(event.getOrderId(), result, result == PaymentResult.APPROVED ? "approved" : "declined");
+    }
+
+    private void scheduleRetry(PaymentRequestedEvent event, int attempt) {
+        meterRegistry.counter("orders.payment.retries").increment();
+        try {
+            retryScheduler.schedule(() -> retry(event, attempt), backoff(attempt).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            // Agendador encerrado; a cobrança continua gravada
+            inFlight.remove(event.getOrderId());
+            log.warn("Retentativa da cobrança do pedido {} não foi agendada", event.getOrderId(), ex);
+        }
+    }
+
+    private void retry(PaymentRequestedEvent event, int attempt) {
+        // A thread do agendador nunca bloqueia: sem vaga, a tentativa é adiada sem ser contabilizada
+        if (!slots.tryAcquire()) {
+            retryScheduler.schedule(() -> retry(event, attempt), backoff(attempt).toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        submit(event, attempt);
+    }
+
+    /**
+     * Backoff exponencial limitado a {@code maxBackoff}, sorteado entre metade e o valor integral
+     * para que retentativas simultâneas não voltem ao gateway ao mesmo tempo.
+     */
+    private Duration backoff(int attempt) {
+        long base = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 2, 20));
+        long half = Math.max(1, base / 2);
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    /**
+     * Registra o resultado e remove a cobrança gravada na mesma transação. Se o registro falhar por erro de
+     * banco, a cobrança continua gravada e é retomada pela recuperação.
+     */
+    private void complete(String orderId, PaymentResult result, String outcome) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                paymentRequestRepository.deleteByOrderId(orderId);
+                if (result == PaymentResult.APPROVED) {
+                    orderService.pay(orderId);
+                } else {
+                    orderService.fail(orderId);
+                }
+            });
+        } catch (OrderStatusConflictException | EntityNotFoundException ex) {
+            // O pedido saiu de PENDING por outro caminho (ex.: transição manual) durante a cobrança
+            log.info("Resultado {} do pagamento do pedido {} ignorado: {}", result, orderId, ex.getMessage());
+            outcome = "ignored";
+            discard(orderId);
+        } catch (RuntimeException ex) {
+            log.error("Falha ao registrar o resultado {} do pagamento do pedido {}", result, orderId, ex);
+            outcome = "error";
+        } finally {
+            inFlight.remove(orderId);
+        }
+        meterRegistry.counter("orders.payment.results", "outcome", outcome).increment();
+    }
+
+    private void discard(String orderId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> paymentRequestRepository.deleteByOrderId(orderId));
+        } catch (RuntimeException ex) {
+            // Removida depois pela recuperação, que descarta cobranças de pedidos fora de PENDING
+            log.warn("Cobrança do pedido {} não foi removida", orderId, ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} cobranças interrompidas no encerramento; serão retomadas pela recuperação",
+                    workers.shutdownNow().size());
+        }
+    }
+}
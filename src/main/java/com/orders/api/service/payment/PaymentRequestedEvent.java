@@ -0,0 +1,32 @@
+package com.orders.api.service.payment;
+
+import java.math.BigDecimal;
+
+/**
+ * Evento publicado na criação de um pedido com {@code cardHash}.
+ * É tratado pelo {@link PaymentProcessor} somente após o commit da transação que criou o pedido.
+ */
+public class PaymentRequestedEvent {
+
+    private final String orderId;
+    private final String cardHash;
+    private final BigDecimal amount;
+
+    public PaymentRequestedEvent(String orderId, String cardHash, BigDecimal amount) {
+        this.orderId = orderId;
+        this.cardHash = cardHash;
+        this.amount = amount;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getCardHash() {
+        return cardHash;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,6 @@
+package com.orders.api.service.payment;
+
+public enum PaymentResult {
+    APPROVED,
+    DECLINED
+}
@@ -0,0 +1,54 @@
+package com.orders.api.service.payment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gateway de pagamento simulado para ambientes locais e testes. Só é registrado com
+ * {@code orders.payment.gateway=simulated}, definido apenas nos perfis locais.
+ * <p>
+ * Cada cobrança espera {@code orders.payment.simulated.latency}, falha de forma transitória com
+ * probabilidade {@code failure-rate} e é recusada com probabilidade {@code decline-rate}. Cartões cujo hash
+ * começa com {@code declined} são sempre recusados.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "orders.payment.gateway", havingValue = "simulated")
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Duration latency;
+    private final double failureRate;
+    private final double declineRate;
+
+    public SimulatedPaymentGateway(@Value("${orders.payment.simulated.latency:PT0.05S}") Duration latency,
+                                   @Value("${orders.payment.simulated.failure-rate:0}") double failureRate,
+                                   @Value("${orders.payment.simulated.decline-rate:0}") double declineRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.declineRate = declineRate;
+    }
+
+    @Override
+    public PaymentResult charge(String orderId, String cardHash, BigDecimal amount) {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Cobrança interrompida", ex);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < failureRate) {
+            throw new PaymentGatewayException("Gateway simulado indisponível");
+        }
+        if (cardHash.startsWith("declined") || random.nextDouble() < declineRate) {
+            return PaymentResult.DECLINED;
+        }
+        return PaymentResult.APPROVED;
+    }
+}
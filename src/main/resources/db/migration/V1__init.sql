@@ -0,0 +1,51 @@
+-- Esquema anterior às migrações (MySQL 8), idêntico ao que o Hibernate criava com ddl-auto=update, inclusive os
+-- nomes gerados das restrições. Bancos já existentes recebem esta versão pelo baseline do Flyway (perfil prod) e
+-- seguem a partir da V2.
+
+create table order_items (
+    price decimal(10,2) not null,
+    quantity integer not null,
+    id bigint not null auto_increment,
+    order_id varchar(36) not null,
+    product_id varchar(36) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    total decimal(38,2),
+    created_at datetime(6),
+    client_id varchar(36),
+    id varchar(36) not null,
+    status enum ('FAILED','PAID','PENDING'),
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    price decimal(10,2) not null,
+    id varchar(36) not null,
+    description TEXT,
+    image_url varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user (
+    id bigint not null auto_increment,
+    password varchar(255) not null,
+    role varchar(255),
+    username varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table user
+    add constraint UKsb8bbouer5wak8vyiiy4pf2bx unique (username);
+
+alter table order_items
+    add constraint FKbioxgbv59vetrxe0ejfubep1w
+    foreign key (order_id)
+    references orders (id);
+
+alter table order_items
+    add constraint FKocimc7dtr037rh4ls4l95nlfi
+    foreign key (product_id)
+    references products (id);
@@ -0,0 +1,79 @@
+-- Alterações sobre o esquema da V1: ids de itens por sequência (inserts em lote), versão otimista dos pedidos,
+-- outbox de eventos, chaves de idempotência, tokens revogados, cobranças pendentes e índices das consultas.
+
+alter table orders
+    add column version bigint default 0 not null;
+
+-- Sem auto_increment o Hibernate pode agrupar os inserts de itens em lotes
+alter table order_items
+    modify id bigint not null;
+
+create table order_items_seq (
+    next_val bigint
+) engine=InnoDB;
+
+-- O otimizador pooled (allocationSize = 50) usa os 50 valores até next_val: começar em max(id) + 50 faz o
+-- primeiro item novo receber max(id) + 1 num banco que já tinha itens
+insert into order_items_seq select coalesce(max(id), 0) + 50 from order_items;
+
+create table outbox_events (
+    created_at datetime(6) not null,
+    id bigint not null,
+    published_at datetime(6),
+    stream_position bigint,
+    aggregate_id varchar(36) not null,
+    payload TEXT not null,
+    event_type enum ('ORDER_CREATED','ORDER_FAILED','ORDER_PAID') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table outbox_events_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into outbox_events_seq values ( 1 );
+
+create table idempotency_keys (
+    created_at datetime(6) not null,
+    order_id varchar(36) not null,
+    request_hash varchar(64) not null,
+    idempotency_key varchar(128) not null,
+    username varchar(255) not null,
+    primary key (idempotency_key, username)
+) engine=InnoDB;
+
+create table revoked_tokens (
+    expires_at datetime(6) not null,
+    revoked_at datetime(6) not null,
+    jti varchar(36) not null,
+    primary key (jti)
+) engine=InnoDB;
+
+create table payment_requests (
+    amount decimal(38,2) not null,
+    created_at datetime(6) not null,
+    order_id varchar(36) not null,
+    card_hash varchar(255) not null,
+    primary key (order_id)
+) engine=InnoDB;
+
+create index idx_orders_created_at_id
+    on orders (created_at, id);
+
+create index idx_orders_client_created_at
+    on orders (client_id, created_at desc);
+
+create index idx_outbox_events_published_at
+    on outbox_events (published_at);
+
+alter table outbox_events
+    add constraint uk_outbox_events_stream_position unique (stream_position);
+
+create index idx_idempotency_keys_created_at
+    on idempotency_keys (created_at);
+
+create index idx_revoked_tokens_expires_at
+    on revoked_tokens (expires_at);
+
+create index idx_payment_requests_created_at
+    on payment_requests (created_at);
@@ -0,0 +1,174 @@
+package com.orders.api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tempo de subida do perfil {@code prod} (migrações do Flyway, inicialização preguiçosa) sobre H2 em memória.
+ * <p>
+ * Cada execução grava em {@code target/startup/report.txt} o tempo total e as etapas mais lentas da subida,
+ * para acompanhar a evolução entre versões. O limite ({@code -Dstartup.max-duration}, padrão 60 s) só barra
+ * regressões grosseiras: aqui a JVM está fria, sem AppCDS e com um único processador a subida leva perto de
+ * 30 s; a meta de produção, abaixo de dois segundos, vale para a imagem Docker com o arquivo AppCDS.
+ * </p>
+ */
+class StartupTimeTest {
+
+    private static final Duration MAX_DURATION = Duration.parse(System.getProperty("startup.max-duration", "PT60S"));
+    private static final Path REPORT = Path.of("target", "startup", "report.txt");
+    private static final int SLOWEST_STEPS = 20;
+    private static final String H2_OPTIONS =
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void prodProfileStartsWithinBudget() throws IOException {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(10_000);
+
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = application(startup).run(arguments("startup"))) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            writeReport(elapsed, startup.getBufferedTimeline());
+            assertThat(context.getBean(Flyway.class).info().current().getVersion().getVersion())
+                    .as("versão do esquema").isEqualTo("2");
+            assertThat(elapsed).as("subida do perfil prod").isLessThan(MAX_DURATION);
+        }
+    }
+
+    @Test
+    void prodProfileSizesAndInstrumentsThePool() throws SQLException {
+        try (ConfigurableApplicationContext context = application(ApplicationStartup.DEFAULT)
+                .run(arguments("startup-pool", "--datasource.concurrency=12"))) {
+            // O DataSource é envolvido pelo proxy do log de consultas lentas
+            HikariDataSource dataSource = context.getBean(DataSource.class).unwrap(HikariDataSource.class);
+            assertThat(dataSource.getMaximumPoolSize()).as("maximum-pool-size").isEqualTo(12);
+            assertThat(dataSource.getMinimumIdle()).as("minimum-idle").isEqualTo(12);
+            assertThat(dataSource.getLeakDetectionThreshold()).as("leak-detection-threshold").isPositive();
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertThat(registry.find("hikaricp.connections.acquire").timer()).as("espera por conexão").isNotNull();
+            assertThat(registry.find("hikaricp.connections.usage").timer()).as("uso da conexão").isNotNull();
+        }
+    }
+
+    @Test
+    void migrationsMatchEntities() {
+        // Migrações aplicadas a um banco vazio e conferidas pelo Hibernate contra o mapeamento das entidades
+        try (ConfigurableApplicationContext context = application(ApplicationStartup.DEFAULT)
+                .run(arguments("startup-validate",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        // Sequências em tabelas e tipos de coluna do MySQL, como no banco de produção
+                        "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"))) {
+            assertThat(context.isActive()).isTrue();
+        }
+    }
+
+    @Test
+    void existingDatabaseIsBaselinedAndMigrated() throws SQLException {
+        // Banco criado antes das migrações pelo ddl-auto=update, com um item de id gerado pelo auto_increment
+        try (Connection connection = DriverManager.getConnection(jdbcUrl("startup-baseline"), "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__init.sql"));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into products (id, name, price) values ('p1', 'Produto', 10.00)");
+                statement.execute("insert into orders (id, status) values ('o1', 'PAID')");
+                statement.execute("insert into order_items (id, quantity, price, order_id, product_id) "
+                        + "values (7, 1, 10.00, 'o1', 'p1')");
+            }
+        }
+
+        try (ConfigurableApplicationContext context = application(ApplicationStartup.DEFAULT)
+                .run(arguments("startup-baseline",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"))) {
+            MigrationInfo[] applied = context.getBean(Flyway.class).info().applied();
+            assertThat(applied).extracting(info -> info.getType().name() + " " + info.getVersion())
+                    .as("histórico do Flyway").containsExactly("BASELINE 1", "SQL 2");
+
+            JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+            assertThat(jdbc.queryForObject("select version from orders where id = 'o1'", Long.class))
+                    .as("versão dos pedidos existentes").isZero();
+            // allocationSize = 50: o próximo bloco de ids começa logo depois do maior id existente
+            assertThat(jdbc.queryForObject("select next_val from order_items_seq", Long.class))
+                    .as("sequência dos itens").isEqualTo(7 + 50);
+        }
+    }
+
+    private static SpringApplicationBuilder application(ApplicationStartup startup) {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("prod")
+                .applicationStartup(startup);
+    }
+
+    /**
+     * Argumentos de linha de comando, que têm precedência sobre {@code application.properties} e o perfil.
+     */
+    private static String[] arguments(String database, String... extra) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + jdbcUrl(database),
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + H2_OPTIONS,
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password="));
+        arguments.addAll(List.of(extra));
+        return arguments.toArray(String[]::new);
+    }
+
+    private static String jdbcUrl(String database) {
+        return "jdbc:h2:mem:" + database + H2_OPTIONS;
+    }
+
+    private static void writeReport(Duration elapsed, StartupTimeline timeline) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Subida do perfil prod: %d ms", elapsed.toMillis()));
+        lines.add("");
+        lines.add("Etapas mais lentas (a duração inclui as etapas internas):");
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_STEPS)
+                .map(event -> String.format("%8d ms  %s %s", event.getDuration().toMillis(),
+                        event.getStartupStep().getName(), tags(event.getStartupStep())))
+                .forEach(lines::add);
+
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, lines);
+    }
+
+    private static String tags(StartupStep step) {
+        Stream<StartupStep.Tag> tags = StreamSupport.stream(step.getTags().spliterator(), false);
+        return tags.map(tag -> tag.getKey() + "=" + tag.getValue()).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,77 @@
+package com.orders.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceSettingsVerifierTest {
+
+    private final HikariDataSource dataSource = new HikariDataSource();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "50")
+            .withProperty("spring.jpa.properties.hibernate.order_inserts", "true");
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void tunedPoolAndDriverHaveNoWarnings() {
+        dataSource.setJdbcUrl("jdbc:mysql://db:3306/api-order");
+        dataSource.setConnectionTimeout(3_000);
+        dataSource.setLeakDetectionThreshold(30_000);
+        dataSource.addDataSourceProperty("cachePrepStmts", "true");
+        dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+        assertThat(verify()).isEmpty();
+    }
+
+    @Test
+    void driverSettingsMayComeFromTheUrl() {
+        dataSource.setJdbcUrl("jdbc:mysql://db:3306/api-order?cachePrepStmts=true&rewriteBatchedStatements=true");
+        dataSource.setConnectionTimeout(3_000);
+        dataSource.setLeakDetectionThreshold(30_000);
+
+        assertThat(verify()).isEmpty();
+    }
+
+    @Test
+    void untunedMysqlDriverIsReported() {
+        dataSource.setJdbcUrl("jdbc:mysql://db:3306/api-order?useServerPrepStmts=true");
+        dataSource.setConnectionTimeout(3_000);
+        dataSource.setLeakDetectionThreshold(30_000);
+
+        List<String> warnings = verify();
+        assertThat(warnings).hasSize(2);
+        assertThat(warnings).anyMatch(warning -> warning.contains("rewriteBatchedStatements"));
+        assertThat(warnings).anyMatch(warning -> warning.startsWith("useServerPrepStmts=true sem cachePrepStmts"));
+    }
+
+    @Test
+    void riskyPoolSettingsAreReported() {
+        dataSource.setJdbcUrl("jdbc:h2:mem:verifier");
+        dataSource.setMaximumPoolSize(DataSourceSettingsVerifier.MAX_POOL_SIZE + 1);
+        dataSource.setConnectionTimeout(DataSourceSettingsVerifier.MAX_CONNECTION_TIMEOUT_MS + 1);
+        dataSource.setMaxLifetime(0);
+        environment.setProperty("spring.jpa.properties.hibernate.order_inserts", "false");
+
+        assertThat(verify())
+                .hasSize(5)
+                .anyMatch(warning -> warning.startsWith("maximum-pool-size="))
+                .anyMatch(warning -> warning.startsWith("connection-timeout="))
+                .anyMatch(warning -> warning.startsWith("leak-detection-threshold"))
+                .anyMatch(warning -> warning.startsWith("max-lifetime=0"))
+                .anyMatch(warning -> warning.contains("order_inserts"));
+    }
+
+    private List<String> verify() {
+        return new DataSourceSettingsVerifier(dataSource, environment).verify();
+    }
+}
@@ -0,0 +1,98 @@
+package com.orders.api.config;
+
+import com.orders.api.entity.User;
+import com.orders.api.repository.RevokedTokenRepository;
+import com.orders.api.repository.UserRepository;
+import com.orders.api.service.JwtService;
+import com.orders.api.service.TokenRevocationService;
+import com.orders.api.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link JwtAuthenticationFilter} por requisição autenticada, de ponta a ponta: leitura do cabeçalho,
+ * verificação do token (com e sem o cache de tokens verificados), consulta de revogação no filtro de Bloom e
+ * montagem da autenticação no contexto de segurança.
+ * <p>
+ * Os repositórios são mocks do Mockito e não são chamados no caminho medido. Executar com
+ * {@code mvn -Pbenchmark test -Djmh.include=JwtAuthenticationFilterBenchmark}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenRevocationService revocation = new TokenRevocationService(
+                Mockito.mock(RevokedTokenRepository.class), meterRegistry, 100_000, 0.01);
+        UserService userService = new UserService(Mockito.mock(UserRepository.class), Duration.ofSeconds(30), 10_000);
+
+        JwtService cached = new JwtService(meterRegistry, 50_000);
+        JwtService uncached = new JwtService(meterRegistry, 0);
+        cachedFilter = new JwtAuthenticationFilter(cached, userService, revocation, false);
+        uncachedFilter = new JwtAuthenticationFilter(uncached, userService, revocation, false);
+
+        String token = cached.generateToken(User.builder().id(42L).username("benchmark").role("USER").build());
+        request = new MockHttpServletRequest("GET", "/orders");
+        request.setServletPath("/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        return filter(cachedFilter);
+    }
+
+    @Benchmark
+    public Authentication authenticateUncached() throws ServletException, IOException {
+        return filter(uncachedFilter);
+    }
+
+    private Authentication filter(JwtAuthenticationFilter filter) throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
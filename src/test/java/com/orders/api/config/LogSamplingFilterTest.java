@@ -0,0 +1,74 @@
+package com.orders.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogSamplingFilterTest {
+
+    private LoggerContext context;
+    private LogSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        filter = new LogSamplingFilter();
+        filter.setContext(context);
+        filter.addSample("com.orders.api.exception=4");
+    }
+
+    @Test
+    void keepsOneOfEveryNEventsOfSampledLoggerAndChildren() {
+        Logger logger = context.getLogger("com.orders.api.exception.ApiExceptionHandler");
+
+        int kept = 0;
+        for (int i = 0; i < 100; i++) {
+            if (decide(logger, Level.WARN) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        assertEquals(25, kept);
+    }
+
+    @Test
+    void errorsAndOtherLoggersAreNotSampled() {
+        Logger sampled = context.getLogger("com.orders.api.exception.ApiExceptionHandler");
+        Logger other = context.getLogger("com.orders.api.service.OrderService");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(sampled, Level.ERROR));
+            assertEquals(FilterReply.NEUTRAL, decide(other, Level.WARN));
+        }
+    }
+
+    @Test
+    void eventsBelowTheLoggerLevelDoNotAdvanceTheSample() {
+        Logger logger = context.getLogger("com.orders.api.exception.ApiExceptionHandler");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG));
+        }
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+        assertEquals(FilterReply.DENY, decide(logger, Level.WARN));
+    }
+
+    @Test
+    void invalidSamplesAreIgnored() {
+        filter.addSample("com.orders.api.service=0");
+        filter.addSample("sem-taxa");
+        Logger logger = context.getLogger("com.orders.api.service.OrderService");
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "mensagem", null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.orders.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A coleta do Prometheus dispensa token somente na porta interna do actuator.
+ */
+// Sem a anotação os testes desligam a exportação de métricas e o endpoint do Prometheus não existe
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("local")
+class ManagementPortTest {
+
+    private static final int MANAGEMENT_PORT = TestSocketUtils.findAvailableTcpPort();
+
+    @DynamicPropertySource
+    static void managementPort(DynamicPropertyRegistry registry) {
+        registry.add("management.server.port", () -> MANAGEMENT_PORT);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${local.management.port}")
+    private int managementPort;
+
+    private final RestClient client = RestClient.builder()
+            .defaultStatusHandler(status -> true, (request, response) -> { })
+            .build();
+
+    @Test
+    void prometheusIsOpenOnlyOnTheManagementPort() {
+        assertThat(managementPort).isEqualTo(MANAGEMENT_PORT);
+
+        assertThat(status(managementPort, "/actuator/prometheus")).isEqualTo(200);
+        assertThat(status(port, "/actuator/prometheus")).isIn(401, 404);
+    }
+
+    @Test
+    void otherActuatorEndpointsStillRequireAToken() {
+        assertThat(status(managementPort, "/actuator/metrics")).isEqualTo(401);
+        assertThat(status(managementPort, "/actuator/health")).isEqualTo(200);
+    }
+
+    private int status(int port, String path) {
+        return client.get()
+                .uri("http://localhost:" + port + path)
+                .retrieve()
+                .toBodilessEntity()
+                .getStatusCode()
+                .value();
+    }
+}
@@ -0,0 +1,97 @@
+package com.orders.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do limite de requisições no caminho de uma requisição: casamento da rota e consumo do token.
+ * <p>
+ * Executar com {@code mvn -Pbenchmark test -Djmh.include=RateLimiterBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private RateLimiter rateLimiter;
+    private RateLimiter.Rule rule;
+    private String[] clients;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(
+                route("/orders/batch", "POST"),
+                route("/orders/export", null),
+                route("/orders/**", null)));
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        rule = rateLimiter.match("GET", "/orders");
+
+        clients = new String[1024];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = "user:client-" + i;
+        }
+    }
+
+    /**
+     * Um único cliente: todas as threads disputam o mesmo bucket.
+     */
+    @Benchmark
+    @Threads(4)
+    public long consumeSameClient() {
+        return rule.tryConsume(clients[0], System.nanoTime());
+    }
+
+    /**
+     * Clientes distintos: o caso comum, com pouca disputa por bucket.
+     */
+    @Benchmark
+    @Threads(4)
+    public long consumeManyClients() {
+        return rule.tryConsume(clients[ThreadLocalRandom.current().nextInt(clients.length)], System.nanoTime());
+    }
+
+    /**
+     * Caminho completo do filtro: casamento da rota seguido do consumo.
+     */
+    @Benchmark
+    public long matchAndConsume() {
+        RateLimiter.Rule matched = rateLimiter.match("GET", "/orders/client/42");
+        return matched.tryConsume(clients[ThreadLocalRandom.current().nextInt(clients.length)], System.nanoTime());
+    }
+
+    private static RateLimitProperties.Route route(String pattern, String method) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern(pattern);
+        route.setMethod(method);
+        // Capacidade alta: o benchmark mede o custo da verificação, não o caminho de rejeição
+        route.setCapacity(1_000_000_000L);
+        route.setRefillPerSecond(1_000_000_000d);
+        return route;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.orders.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void nonPositiveRoutesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(route(0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> limiter(route(5, 0)));
+        assertThrows(IllegalArgumentException.class, () -> limiter(route(5, -1)));
+    }
+
+    @Test
+    void capacityOverflowIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(route(Long.MAX_VALUE / 2, 0.5)));
+    }
+
+    @Test
+    void evictionKeepsBucketsWithPendingConsumption() {
+        RateLimiter limiter = limiter(route(2, 0.001));
+        RateLimiter.Rule rule = limiter.match("GET", "/orders");
+
+        assertTrue(rule.tryConsume("client", System.nanoTime()) > 0);
+        assertTrue(rule.tryConsume("client", System.nanoTime()) > 0);
+        limiter.evictIdle();
+
+        // O bucket vazio não é removido: o cliente não ganha tokens com a limpeza
+        assertTrue(rule.tryConsume("client", System.nanoTime()) < 0);
+    }
+
+    @Test
+    void fullBucketsAreEvicted() {
+        RateLimiter limiter = limiter(route(2, 1));
+        RateLimiter.Rule rule = limiter.match("GET", "/orders");
+        long past = System.nanoTime() - 10_000_000_000L;
+
+        rule.tryConsume("client", past);
+        limiter.evictIdle();
+
+        assertEquals(rule.getCapacity() - 1, rule.remaining(rule.tryConsume("client", System.nanoTime())));
+    }
+
+    @Test
+    void plainPathMatchingAgreesWithPathPattern() {
+        List<String> patterns = List.of("/orders/batch", "/orders/**", "/orders/{id}", "/auth/*");
+        List<String> paths = List.of("/", "/orders", "/orders/", "/orders/batch", "/orders/batch/", "/ordersx",
+                "/orders/a/b", "/orders/%62atch", "/auth/login", "/auth");
+        for (String pattern : patterns) {
+            RateLimitProperties.Route route = route(5, 1);
+            route.setPattern(pattern);
+            RateLimiter limiter = limiter(route);
+            PathPattern expected = PathPatternParser.defaultInstance.parse(pattern);
+            for (String path : paths) {
+                assertEquals(expected.matches(PathContainer.parsePath(path)), limiter.match("GET", path) != null,
+                        pattern + " x " + path);
+            }
+        }
+    }
+
+    @Test
+    void methodRestrictsTheRoute() {
+        RateLimitProperties.Route route = route(5, 1);
+        route.setPattern("/orders/batch");
+        route.setMethod("POST");
+        RateLimiter limiter = limiter(route);
+
+        assertNotNull(limiter.match("post", "/orders/batch"));
+        assertNull(limiter.match("GET", "/orders/batch"));
+    }
+
+    private static RateLimiter limiter(RateLimitProperties.Route route) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(route));
+        return new RateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    private static RateLimitProperties.Route route(long capacity, double refillPerSecond) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/orders/**");
+        route.setCapacity(capacity);
+        route.setRefillPerSecond(refillPerSecond);
+        return route;
+    }
+}
@@ -0,0 +1,86 @@
+package com.orders.api.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o pool de plataforma padrão do Tomcat (200 threads) com uma virtual thread por requisição para
+ * requisições limitadas por I/O: cada requisição bloqueia {@code ioMillis} como se esperasse o MySQL.
+ * <p>
+ * Mede o tempo para atender {@code requests} requisições simultâneas. O modo {@code virtual} exige JDK 21
+ * ({@code -Pjava21}). Use {@code -prof gc} para comparar a alocação por requisição.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestExecutorBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"1000", "10000"})
+    public int requests;
+
+    @Param({"20"})
+    public int ioMillis;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(mode) && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("Virtual threads exigem JDK 21 (-Pjava21)");
+        }
+        executor = "virtual".equals(mode)
+                ? Executors.newCachedThreadPool(VirtualThreads.threadFactory("bench-", true))
+                : Executors.newFixedThreadPool(200, VirtualThreads.threadFactory("bench-", false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void serveConcurrentRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(ioMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestExecutorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
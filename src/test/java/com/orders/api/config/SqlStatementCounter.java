@@ -0,0 +1,50 @@
+package com.orders.api.config;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Suporte de teste para orçamentos de consultas: conta, pelo {@link QueryCountInspector}, os comandos SQL que
+ * uma chamada executa na thread corrente.
+ * <p>
+ * Requisições feitas pelo {@code MockMvc} são atendidas na thread do teste e também podem ser medidas;
+ * trabalho repassado a outros executores não entra na conta.
+ * </p>
+ */
+public final class SqlStatementCounter {
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Quantidade de comandos SQL executados por {@code action}.
+     */
+    public static long count(ThrowingRunnable action) throws Exception {
+        long before = QueryCountInspector.current();
+        action.run();
+        return QueryCountInspector.current() - before;
+    }
+
+    /**
+     * Executa {@code action} e falha se ela executar mais de {@code budget} comandos SQL.
+     *
+     * @param budget      Máximo de comandos permitidos.
+     * @param description Descrição da operação, usada na mensagem de falha.
+     * @return O resultado de {@code action}.
+     */
+    public static <T> T assertAtMost(long budget, String description, Callable<T> action) throws Exception {
+        long before = QueryCountInspector.current();
+        T result = action.call();
+        long executed = QueryCountInspector.current() - before;
+        assertThat(executed)
+                .as("comandos SQL executados por %s", description)
+                .isLessThanOrEqualTo(budget);
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,50 @@
+package com.orders.api.config;
+
+import com.orders.api.entity.Product;
+import com.orders.api.entity.User;
+import com.orders.api.repository.ProductRepository;
+import com.orders.api.repository.UserRepository;
+import com.orders.api.service.JwtService;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Suporte de teste para os testes de rotas com o contexto completo: usuário autenticado e produtos gravados no
+ * banco. Registrado com {@code @Import(TestFixtures.class)}.
+ */
+@TestComponent
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final JwtService jwtService;
+
+    public TestFixtures(UserRepository userRepository, ProductRepository productRepository, JwtService jwtService) {
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Grava um usuário novo com papel {@code USER} e devolve o cabeçalho {@code Authorization} com o token dele.
+     *
+     * @param prefix Início do nome do usuário, completado por um UUID para não colidir entre testes.
+     */
+    public String bearerToken(String prefix) {
+        User user = userRepository.save(User.builder()
+                .username(prefix + "-" + UUID.randomUUID())
+                .password("-")
+                .role("USER")
+                .build());
+        return "Bearer " + jwtService.generateToken(user);
+    }
+
+    /**
+     * Grava um produto sem imagem.
+     */
+    public Product product(String name, String description, String price) {
+        return productRepository.save(new Product(name, description, new BigDecimal(price), null));
+    }
+}
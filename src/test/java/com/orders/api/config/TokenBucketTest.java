@@ -0,0 +1,78 @@
+package com.orders.api.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long CAPACITY = 5 * INTERVAL;
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        long now = 1_000_000_000L;
+        TokenBucket bucket = new TokenBucket(now);
+
+        for (int i = 1; i <= 5; i++) {
+            long debt = bucket.tryConsume(now, INTERVAL, CAPACITY);
+            assertEquals(i * INTERVAL, debt);
+        }
+
+        long rejected = bucket.tryConsume(now, INTERVAL, CAPACITY);
+        assertEquals(-INTERVAL, rejected);
+    }
+
+    @Test
+    void refillsOverTime() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(now);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryConsume(now, INTERVAL, CAPACITY);
+        }
+        assertTrue(bucket.tryConsume(now, INTERVAL, CAPACITY) < 0);
+
+        assertTrue(bucket.tryConsume(now + INTERVAL, INTERVAL, CAPACITY) > 0);
+        assertTrue(bucket.tryConsume(now + INTERVAL, INTERVAL, CAPACITY) < 0);
+
+        assertFalse(bucket.isFull(now + 2 * INTERVAL));
+        assertTrue(bucket.isFull(now + 6 * INTERVAL));
+    }
+
+    @Test
+    void neverGrantsMoreThanCapacityUnderContention() throws Exception {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(now);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryConsume(now, INTERVAL, CAPACITY) > 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(5, granted.get());
+    }
+}
@@ -0,0 +1,47 @@
+package com.orders.api.dto;
+
+import com.orders.api.enums.OrderStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkStatusUpdateDtoTest {
+
+    private static ValidatorFactory factory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    void pendingIsReportedOnTheStatusField() {
+        Set<ConstraintViolation<BulkStatusUpdateDto>> violations =
+                validator.validate(new BulkStatusUpdateDto(List.of("id"), OrderStatus.PENDING));
+
+        assertThat(violations).singleElement().satisfies(violation ->
+                assertThat(violation.getPropertyPath().toString()).isEqualTo("status"));
+    }
+
+    @Test
+    void paidAndFailedAreValidTargets() {
+        assertThat(validator.validate(new BulkStatusUpdateDto(List.of("id"), OrderStatus.PAID))).isEmpty();
+        assertThat(validator.validate(new BulkStatusUpdateDto(List.of("id"), OrderStatus.FAILED))).isEmpty();
+    }
+}
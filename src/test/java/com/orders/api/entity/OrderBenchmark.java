@@ -0,0 +1,63 @@
+package com.orders.api.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link Order#calculateTotal()} conforme a quantidade de itens do pedido.
+ * <p>
+ * Executar com {@code mvn -Pbenchmark test -Djmh.include=OrderBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem();
+            item.setQuantity(1 + i % 5);
+            item.setPrice(new BigDecimal("19.90").add(BigDecimal.valueOf(i)));
+            orderItems.add(item);
+        }
+        order = new Order();
+        order.setItems(orderItems);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return order.calculateTotal();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,139 @@
+package com.orders.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências de uma etapa do teste de carga, por operação, em histogramas HDR.
+ * <p>
+ * Os valores são registrados em nanossegundos com 3 dígitos significativos e reportados em milissegundos.
+ * O gerador é de laço fechado (cada usuário virtual espera a resposta antes da próxima requisição), então
+ * as latências não incluem o tempo que uma requisição esperaria para ser enviada sob saturação.
+ * </p>
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final String stage;
+    private final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+    private Duration elapsed = Duration.ZERO;
+
+    LatencyReport(String stage) {
+        this.stage = stage;
+        for (LoadOperation operation : LoadOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Registra uma requisição. Latências acima de um minuto são registradas como um minuto.
+     */
+    void record(LoadOperation operation, long nanos, boolean success) {
+        histograms.get(operation).recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    long totalCount() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    double throughput() {
+        return elapsed.isZero() ? 0 : totalCount() / (elapsed.toNanos() / 1e9);
+    }
+
+    /**
+     * Confere a etapa contra os limites e devolve as violações encontradas (vazia se passou).
+     *
+     * @param p99Limits     p99 máximo por operação; operações ausentes não são verificadas.
+     * @param maxErrorRate  Fração máxima de respostas com erro, por operação.
+     * @param minThroughput Vazão mínima da etapa, em requisições por segundo.
+     */
+    List<String> violations(Map<LoadOperation, Duration> p99Limits, double maxErrorRate, double minThroughput) {
+        List<String> violations = new ArrayList<>();
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Duration limit = p99Limits.get(operation);
+            long p99 = histogram.getValueAtPercentile(99);
+            if (limit != null && p99 > limit.toNanos()) {
+                violations.add(String.format(Locale.ROOT, "%s %s: p99 %.1f ms > %d ms",
+                        stage, operation, p99 / NANOS_PER_MILLI, limit.toMillis()));
+            }
+            double errorRate = errors.get(operation).sum() / (double) histogram.getTotalCount();
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format(Locale.ROOT, "%s %s: taxa de erro %.2f%% > %.2f%%",
+                        stage, operation, errorRate * 100, maxErrorRate * 100));
+            }
+        }
+        if (throughput() < minThroughput) {
+            violations.add(String.format(Locale.ROOT, "%s: vazão %.1f req/s < %.1f req/s", stage, throughput(), minThroughput));
+        }
+        return violations;
+    }
+
+    /**
+     * Tabela resumida da etapa: contagem, erros e percentis por operação.
+     */
+    String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "== %s: %d requisições em %d s, %.1f req/s%n",
+                stage, totalCount(), elapsed.toSeconds(), throughput()));
+        out.append(String.format(Locale.ROOT, "%-9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operação", "count", "erros", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            out.append(String.format(Locale.ROOT, "%-9s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    operation, histogram.getTotalCount(), errors.get(operation).sum(),
+                    millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / NANOS_PER_MILLI));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Grava a distribuição completa de cada operação em {@code <etapa>-<operação>.hgrm}, no formato do
+     * HdrHistogram (legível pelo HistogramLogAnalyzer e pelo plotter do projeto).
+     */
+    void writeDistributions(Path directory) throws IOException {
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(stage + "-" + operation.name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,22 @@
+package com.orders.api.loadtest;
+
+/**
+ * Operações do tráfego misto gerado pelo {@link OrderApiLoadTest}.
+ */
+enum LoadOperation {
+
+    /** {@code POST /auth/register}: um usuário novo, com o custo de um hash BCrypt. */
+    REGISTER,
+
+    /** {@code POST /auth/login}: verificação BCrypt da senha do usuário virtual. */
+    LOGIN,
+
+    /** {@code POST /orders}: pedido de 1 a 3 itens dos produtos semeados. */
+    CREATE,
+
+    /** {@code POST /orders/{id}/pay}: paga um pedido PENDING criado pelo mesmo usuário virtual. */
+    PAY,
+
+    /** {@code GET /orders/client/{id}} ou {@code GET /orders}: listagens paginadas. */
+    LIST
+}
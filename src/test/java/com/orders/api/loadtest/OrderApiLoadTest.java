@@ -0,0 +1,313 @@
+package com.orders.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Product;
+import com.orders.api.repository.ProductRepository;
+import com.orders.api.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga da API HTTP real, sem MySQL: a aplicação sobe em porta aleatória sobre o H2 do perfil
+ * {@code local} e recebe tráfego misto de cadastro, login, criação, pagamento e listagem de pedidos.
+ * <p>
+ * Fora da execução padrão; rodar com {@code mvn -Ploadtest test}. Massa, etapas de concorrência, mistura de
+ * operações e limites ficam em {@code application-loadtest.properties} e podem ser sobrescritos por
+ * {@code -Dloadtest.*} (ex.: {@code -Dloadtest.concurrency=8,32 -Dloadtest.duration=PT1M}). O relatório
+ * ({@code report.txt} e um {@code .hgrm} por operação e etapa) é gravado em {@code loadtest.report-dir}; o
+ * teste falha se alguma etapa exceder os limites de p99, taxa de erro ou vazão.
+ * </p>
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"local", "loadtest"})
+class OrderApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderApiLoadTest.class);
+
+    private static final String PASSWORD = "loadtest-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private List<Product> products;
+    private List<String> clients;
+    private LoadOperation[] mix;
+
+    @Test
+    void mixedTrafficMeetsThresholds() throws Exception {
+        seed(environment.getRequiredProperty("loadtest.products", Integer.class),
+                environment.getRequiredProperty("loadtest.orders", Integer.class),
+                environment.getRequiredProperty("loadtest.clients", Integer.class));
+        mix = parseMix(environment.getRequiredProperty("loadtest.mix"));
+
+        Duration warmup = environment.getRequiredProperty("loadtest.warmup", Duration.class);
+        Duration duration = environment.getRequiredProperty("loadtest.duration", Duration.class);
+        Map<LoadOperation, Duration> p99Limits = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            Duration limit = environment.getProperty("loadtest.p99." + key(operation), Duration.class);
+            if (limit != null) {
+                p99Limits.put(operation, limit);
+            }
+        }
+        double maxErrorRate = environment.getRequiredProperty("loadtest.max-error-rate", Double.class);
+        double minThroughput = environment.getRequiredProperty("loadtest.min-throughput", Double.class);
+
+        Path reportDir = Path.of(environment.getRequiredProperty("loadtest.report-dir"));
+        Files.createDirectories(reportDir);
+
+        StringBuilder report = new StringBuilder();
+        List<String> violations = new ArrayList<>();
+        for (String value : environment.getRequiredProperty("loadtest.concurrency").split(",")) {
+            int concurrency = Integer.parseInt(value.trim());
+            LatencyReport stage = runStage("c" + concurrency, concurrency, warmup, duration);
+            stage.writeDistributions(reportDir);
+            report.append(stage.summary()).append(System.lineSeparator());
+            violations.addAll(stage.violations(p99Limits, maxErrorRate, minThroughput));
+            log.info("{}", stage.summary());
+        }
+
+        report.append(violations.isEmpty() ? "APROVADO" : "REPROVADO").append(System.lineSeparator());
+        violations.forEach(violation -> report.append("  ").append(violation).append(System.lineSeparator()));
+        Files.writeString(reportDir.resolve("report.txt"), report, StandardCharsets.UTF_8);
+
+        assertThat(violations).as("limites do teste de carga (%s)", reportDir.resolve("report.txt")).isEmpty();
+    }
+
+    /**
+     * Grava os produtos e pedidos iniciais diretamente pelos serviços, fora da medição.
+     */
+    private void seed(int productCount, int orderCount, int clientCount) {
+        List<Product> seeded = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            seeded.add(new Product("Produto " + i, "Carga", BigDecimal.valueOf(5 + i % 50, 0), null));
+        }
+        products = productRepository.saveAll(seeded);
+
+        clients = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            clients.add("loadtest-client-" + i);
+        }
+        for (int i = 0; i < orderCount; i++) {
+            orderService.create(new CreateOrderDto(clients.get(i % clientCount), randomItems(), null));
+        }
+        log.info("Massa inicial: {} produtos, {} pedidos de {} clientes", productCount, orderCount, clientCount);
+    }
+
+    /**
+     * Executa uma etapa: {@code concurrency} usuários virtuais durante o aquecimento (não registrado) e a medição.
+     */
+    private LatencyReport runStage(String name, int concurrency, Duration warmup, Duration duration) throws Exception {
+        LatencyReport report = new LatencyReport(name);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> users = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                users.add(executor.submit(() -> {
+                    new VirtualUser().run(report, measureFrom, measureUntil);
+                    return null;
+                }));
+            }
+            for (Future<?> user : users) {
+                user.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        report.finish(duration);
+        return report;
+    }
+
+    /**
+     * Usuário virtual: cadastra-se, obtém um token e executa operações sorteadas segundo a mistura até o fim da
+     * etapa, sempre esperando a resposta da anterior.
+     */
+    private final class VirtualUser {
+
+        private final Deque<String> pendingOrders = new ArrayDeque<>();
+        private String username;
+        private String registering;
+        private String token;
+
+        void run(LatencyReport report, long measureFrom, long measureUntil) throws IOException, InterruptedException {
+            while (System.nanoTime() < measureUntil) {
+                LoadOperation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+                if (username == null) {
+                    // Sem usuário (primeira iteração ou cadastro recusado): cadastra antes de qualquer outra operação
+                    operation = LoadOperation.REGISTER;
+                } else if (operation == LoadOperation.PAY && pendingOrders.isEmpty()) {
+                    operation = LoadOperation.CREATE;
+                }
+                execute(operation, report, measureFrom);
+            }
+        }
+
+        private void execute(LoadOperation operation, LatencyReport report, long measureFrom)
+                throws IOException, InterruptedException {
+            HttpRequest request = request(operation);
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                success = response.statusCode() < 400;
+                if (success) {
+                    handle(operation, response.body());
+                }
+            } catch (HttpTimeoutException ex) {
+                success = false;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (start >= measureFrom) {
+                report.record(operation, elapsed, success);
+            }
+        }
+
+        private HttpRequest request(LoadOperation operation) throws IOException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (operation) {
+                // Cada cadastro cria um usuário novo; o usuário virtual passa a usá-lo nas operações seguintes
+                case REGISTER -> {
+                    registering = "lt-" + UUID.randomUUID();
+                    yield post("/auth/register", credentials(registering));
+                }
+                case LOGIN -> post("/auth/login", credentials(username));
+                case CREATE -> post("/orders", objectMapper.writeValueAsString(
+                        new CreateOrderDto(clients.get(random.nextInt(clients.size())), randomItems(), null)));
+                case PAY -> post("/orders/" + pendingOrders.pop() + "/pay", "");
+                case LIST -> random.nextBoolean()
+                        ? get("/orders/client/" + clients.get(random.nextInt(clients.size())) + "?size=20")
+                        : get("/orders?size=20");
+            };
+        }
+
+        private void handle(LoadOperation operation, String body) throws IOException {
+            switch (operation) {
+                case REGISTER -> {
+                    username = registering;
+                    token = token(body);
+                }
+                case LOGIN -> token = token(body);
+                case CREATE -> pendingOrders.push(objectMapper.readTree(body).get("id").asText());
+                default -> {
+                }
+            }
+        }
+
+        private String token(String body) throws IOException {
+            JsonNode json = objectMapper.readTree(body);
+            return json.get("token").asText();
+        }
+
+        private String credentials(String user) throws IOException {
+            return objectMapper.writeValueAsString(Map.of("username", user, "password", PASSWORD));
+        }
+
+        private HttpRequest post(String path, String body) {
+            return builder(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private HttpRequest get(String path) {
+            return builder(path).GET().build();
+        }
+
+        private HttpRequest.Builder builder(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+    }
+
+    private List<OrderItemDto> randomItems() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = 1 + random.nextInt(3);
+        List<OrderItemDto> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = products.get(random.nextInt(products.size()));
+            items.add(new OrderItemDto(1 + random.nextInt(5), product.getId(), product.getPrice()));
+        }
+        return items;
+    }
+
+    /**
+     * Converte {@code "register:2,login:5,..."} em um vetor em que cada operação aparece tantas vezes quanto o
+     * seu peso, para o sorteio uniforme.
+     */
+    private static LoadOperation[] parseMix(String mix) {
+        List<LoadOperation> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            LoadOperation operation = LoadOperation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            weighted.addAll(Collections.nCopies(Integer.parseInt(parts[1].trim()), operation));
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix vazio: " + mix);
+        }
+        return weighted.toArray(LoadOperation[]::new);
+    }
+
+    private static String key(LoadOperation operation) {
+        return operation.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,185 @@
+package com.orders.api.repository;
+
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.dto.OrderResponse;
+import com.orders.api.entity.Order;
+import com.orders.api.entity.OrderItem;
+import com.orders.api.entity.Product;
+import com.orders.api.enums.OrderStatus;
+import com.orders.api.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.orders.api.config.SqlStatementCounter.assertAtMost;
+import static com.orders.api.config.SqlStatementCounter.count;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orçamento de comandos SQL de cada método do {@link OrderRepository}, medido sobre uma massa de vários pedidos
+ * com vários itens: um aumento indica N+1 (associação carregada sob demanda) ou consulta extra.
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+class OrderRepositoryQueryBudgetTest {
+
+    private static final int ORDERS = 12;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private String clientId;
+    private List<Product> products;
+    private List<String> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        products = productRepository.saveAll(List.of(
+                new Product("Caderno", "10 matérias", new BigDecimal("25.00"), null),
+                new Product("Lápis", "HB", new BigDecimal("1.50"), null),
+                new Product("Borracha", "Branca", new BigDecimal("2.00"), null)));
+
+        clientId = UUID.randomUUID().toString();
+        orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds.add(orderService.create(new CreateOrderDto(clientId, items(), null)).getId());
+        }
+    }
+
+    @Test
+    void pageIdsTakeOneStatement() throws Exception {
+        List<String> ids = assertAtMost(1, "findPageIds", () -> orderRepository.findPageIds(Limit.of(ORDERS)));
+        assertThat(ids).hasSize(ORDERS);
+
+        Order last = orderRepository.findById(ids.get(ids.size() - 1)).orElseThrow();
+        assertAtMost(1, "findPageIdsAfter",
+                () -> orderRepository.findPageIdsAfter(last.getCreatedAt(), last.getId(), Limit.of(ORDERS)));
+    }
+
+    @Test
+    void pageWithItemsDoesNotLoadItemsOrProductsOnDemand() throws Exception {
+        long executed = count(() -> {
+            List<Order> orders = orderRepository.findAllWithItemsByIdIn(orderIds);
+            assertThat(orders).hasSize(ORDERS);
+            // O mapeamento da resposta percorre os itens e o id do produto de cada um
+            orders.forEach(order -> order.getItems().forEach(item -> item.getProduct().getId()));
+        });
+        assertThat(executed).as("findAllWithItemsByIdIn + percurso dos itens").isEqualTo(1);
+    }
+
+    @Test
+    void orderWithItemsLoadsProductsInTheSameStatement() throws Exception {
+        long executed = count(() -> {
+            Order order = orderRepository.findWithItemsById(orderIds.get(0)).orElseThrow();
+            // Nome do produto: exige o produto carregado, não apenas o proxy
+            order.getItems().forEach(item -> item.getProduct().getName());
+        });
+        assertThat(executed).as("findWithItemsById + produtos").isEqualTo(1);
+    }
+
+    @Test
+    void clientSummariesTakeOneStatementForAnyPageSize() throws Exception {
+        for (int size : new int[]{1, ORDERS}) {
+            Slice<OrderResponse> slice = assertAtMost(1, "findSummariesByClientId(size=" + size + ")",
+                    () -> orderRepository.findSummariesByClientId(clientId,
+                            PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt"))));
+            assertThat(slice.getContent()).hasSize(size);
+        }
+    }
+
+    @Test
+    void statusUpdatesTakeOneStatement() throws Exception {
+        assertAtMost(1, "updateStatus", () -> transaction.execute(status ->
+                orderRepository.updateStatus(orderIds.get(0), OrderStatus.PENDING, OrderStatus.PAID)));
+
+        List<String> rest = orderIds.subList(1, ORDERS);
+        assertAtMost(1, "lockIdsByStatus", () -> transaction.execute(status ->
+                orderRepository.lockIdsByStatus(rest, OrderStatus.PENDING)));
+        Integer updated = assertAtMost(1, "updateStatusIn", () -> transaction.execute(status ->
+                orderRepository.updateStatusIn(rest, OrderStatus.PENDING, OrderStatus.FAILED)));
+        assertThat(updated).isEqualTo(ORDERS - 1);
+    }
+
+    @Test
+    void exportStreamTakesOneStatement() throws Exception {
+        long executed = count(() -> transaction.executeWithoutResult(status -> {
+            try (Stream<Order> orders = orderRepository.streamAllWithItems(100)) {
+                orders.forEach(order -> order.getItems().forEach(item -> item.getProduct().getId()));
+            }
+        }));
+        assertThat(executed).as("streamAllWithItems + percurso dos itens").isEqualTo(1);
+    }
+
+    @Test
+    void inheritedLookupsTakeOneStatement() throws Exception {
+        assertAtMost(1, "findById", () -> orderRepository.findById(orderIds.get(0)));
+        assertAtMost(1, "existsById", () -> orderRepository.existsById(orderIds.get(0)));
+    }
+
+    @Test
+    void insertCostDoesNotGrowWithItems() throws Exception {
+        // Insert do pedido + insert em lote dos itens, mais até duas buscas de bloco da sequência de itens
+        // (allocationSize 50), conforme a posição atual do bloco: no máximo 4 comandos para 1 ou 20 itens
+        assertAtMost(4, "save + flush com 1 item", () -> {
+            saveAndFlush(1);
+            return null;
+        });
+        assertAtMost(4, "save + flush com 20 itens", () -> {
+            saveAndFlush(20);
+            return null;
+        });
+    }
+
+    private void saveAndFlush(int itemCount) {
+        transaction.executeWithoutResult(status -> {
+            Order order = new Order();
+            order.setClientId(clientId);
+            order.setStatus(OrderStatus.PENDING);
+            List<OrderItem> items = new ArrayList<>();
+            for (int i = 0; i < itemCount; i++) {
+                OrderItem item = new OrderItem();
+                item.setQuantity(1);
+                item.setPrice(products.get(0).getPrice());
+                item.setProduct(products.get(0));
+                item.setOrder(order);
+                items.add(item);
+            }
+            order.setItems(items);
+            order.setTotal(order.calculateTotal());
+            orderRepository.save(order);
+            orderRepository.flush();
+        });
+    }
+
+    private List<OrderItemDto> items() {
+        return products.stream()
+                .map(product -> new OrderItemDto(2, product.getId(), product.getPrice()))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.orders.api.repository;
+
+import com.orders.api.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.orders.api.config.SqlStatementCounter.assertAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orçamento de comandos SQL dos métodos do {@link ProductRepository} usados pela aplicação.
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+class ProductRepositoryQueryBudgetTest {
+
+    private static final int PRODUCTS = 10;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product("Produto " + i, null, BigDecimal.TEN, null));
+        }
+        ids = productRepository.saveAll(products).stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void lookupsTakeOneStatement() throws Exception {
+        assertAtMost(1, "findById", () -> productRepository.findById(ids.get(0)));
+        // Validação dos itens de um pedido: todos os produtos em uma única consulta
+        List<Product> found = assertAtMost(1, "findAllById", () -> productRepository.findAllById(ids));
+        assertThat(found).hasSize(PRODUCTS);
+        assertAtMost(1, "findAll", () -> productRepository.findAll());
+    }
+
+    @Test
+    void writesStayWithinBudget() throws Exception {
+        assertAtMost(1, "save (novo)", () -> productRepository.save(new Product("Novo", null, BigDecimal.ONE, null)));
+
+        Product existing = productRepository.findById(ids.get(0)).orElseThrow();
+        existing.setPrice(BigDecimal.ONE);
+        // merge de uma entidade destacada: select + update
+        assertAtMost(2, "save (existente)", () -> productRepository.save(existing));
+        // select + delete
+        assertAtMost(2, "deleteById", () -> {
+            productRepository.deleteById(ids.get(1));
+            return null;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.orders.api.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.api.config.TestFixtures;
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Product;
+import com.orders.api.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportação NDJSON com o contexto de persistência limpo a cada dois pedidos: pedidos lidos antes e depois de
+ * cada {@code entityManager.clear()} saem com todos os itens e produtos.
+ */
+@SpringBootTest(properties = "orders.export.clear-every=2")
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class OrderExportTest {
+
+    private static final int ORDERS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryOrderWithAllItemsAcrossClearBoundaries() throws Exception {
+        List<Product> products = List.of(
+                fixtures.product("Caneta", "Azul", "4.90"),
+                fixtures.product("Lápis", null, "1.50"),
+                fixtures.product("Borracha", null, "2.00"));
+
+        // O pedido i tem i itens, alternando entre os produtos
+        String clientId = UUID.randomUUID().toString();
+        Map<String, Integer> expectedItems = new HashMap<>();
+        for (int i = 1; i <= ORDERS; i++) {
+            List<OrderItemDto> items = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                Product product = products.get(j % products.size());
+                items.add(new OrderItemDto(1 + j, product.getId(), product.getPrice()));
+            }
+            expectedItems.put(orderService.create(new CreateOrderDto(clientId, items, null)).getId(), i);
+        }
+
+        String body = mockMvc.perform(get("/orders/export").header("Authorization", fixtures.bearerToken("export")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // O banco em memória é compartilhado com os outros testes: só as linhas deste cliente são conferidas
+        Map<String, Integer> exportedItems = new HashMap<>();
+        for (String line : body.lines().toList()) {
+            JsonNode order = objectMapper.readTree(line);
+            if (!clientId.equals(order.path("clientId").asText())) {
+                continue;
+            }
+            assertThat(order.path("items")).allSatisfy(item ->
+                    assertThat(item.path("productId").asText()).isIn(products.stream().map(Product::getId).toList()));
+            assertThat(exportedItems.put(order.path("id").asText(), order.path("items").size()))
+                    .as("pedido exportado uma única vez").isNull();
+        }
+        assertThat(exportedItems).isEqualTo(expectedItems);
+    }
+}
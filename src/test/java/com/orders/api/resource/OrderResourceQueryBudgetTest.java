@@ -0,0 +1,133 @@
+package com.orders.api.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.api.config.TestFixtures;
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Product;
+import com.orders.api.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.orders.api.config.SqlStatementCounter.count;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Orçamento de comandos SQL por requisição das rotas de pedidos, de ponta a ponta (filtros de segurança,
+ * serviço e serialização). Cada rota é medida com poucos e com muitos pedidos ou itens: o número de comandos
+ * não pode crescer com o volume.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class OrderResourceQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    private String token;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        token = fixtures.bearerToken("budget");
+        products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(fixtures.product("Produto " + i, null, "3.00"));
+        }
+    }
+
+    @Test
+    void clientHistoryTakesOneStatementForAnyNumberOfOrders() throws Exception {
+        String few = clientWithOrders(1);
+        String many = clientWithOrders(30);
+
+        long fewStatements = statements(get("/orders/client/" + few).param("size", "50"));
+        long manyStatements = statements(get("/orders/client/" + many).param("size", "50"));
+
+        assertThat(fewStatements).as("GET /orders/client/{id} com 1 pedido").isLessThanOrEqualTo(1);
+        assertThat(manyStatements).as("GET /orders/client/{id} com 30 pedidos").isEqualTo(fewStatements);
+    }
+
+    @Test
+    void orderPageTakesTwoStatementsForAnyPageSize() throws Exception {
+        clientWithOrders(30);
+
+        long small = statements(get("/orders").param("size", "1"));
+        long large = statements(get("/orders").param("size", "30"));
+
+        // Ids da página + pedidos com itens; o id do produto vem do proxy, sem carregar o produto
+        assertThat(small).as("GET /orders?size=1").isLessThanOrEqualTo(2);
+        assertThat(large).as("GET /orders?size=30").isEqualTo(small);
+    }
+
+    @Test
+    void createCostDoesNotGrowWithItems() throws Exception {
+        long one = statements(createRequest(1));
+        long five = statements(createRequest(5));
+
+        // Produtos em uma consulta, pedido, itens em lote, outbox e eventuais blocos de sequência
+        assertThat(one).as("POST /orders com 1 item").isLessThanOrEqualTo(7);
+        assertThat(five).as("POST /orders com 5 itens").isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    void payTakesTwoStatements() throws Exception {
+        String orderId = orderService.create(new CreateOrderDto("budget-pay", items(1), null)).getId();
+
+        // UPDATE condicional + insert do evento na outbox
+        assertThat(statements(post("/orders/" + orderId + "/pay"))).as("POST /orders/{id}/pay").isLessThanOrEqualTo(2);
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult[] result = new MvcResult[1];
+        long executed = count(() -> result[0] = mockMvc.perform(request.header("Authorization", token)).andReturn());
+        assertThat(result[0].getResponse().getStatus()).as("status").isLessThan(300);
+        return executed;
+    }
+
+    private MockHttpServletRequestBuilder createRequest(int itemCount) throws Exception {
+        return post("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateOrderDto("budget-create", items(itemCount), null)));
+    }
+
+    private String clientWithOrders(int orders) {
+        String clientId = UUID.randomUUID().toString();
+        for (int i = 0; i < orders; i++) {
+            orderService.create(new CreateOrderDto(clientId, items(3), null));
+        }
+        return clientId;
+    }
+
+    private List<OrderItemDto> items(int count) {
+        return products.subList(0, count).stream()
+                .map(product -> new OrderItemDto(1, product.getId(), product.getPrice()))
+                .toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.orders.api.resource;
+
+import com.orders.api.config.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Parâmetros inválidos fora do corpo da requisição: a resposta é o {@code ErrorMessage} padrão da API.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class OrderResourceValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = fixtures.bearerToken("validation");
+    }
+
+    @Test
+    void oversizedIdempotencyKeyIsABadRequest() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .header("Authorization", token)
+                        .header(OrderResource.IDEMPOTENCY_KEY_HEADER, "k".repeat(129))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"clientId\":\"c\",\"items\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.path").value("/orders"))
+                .andExpect(jsonPath("$.errors['Idempotency-Key']").exists());
+    }
+
+    @Test
+    void unknownSortDirectionIsABadRequest() throws Exception {
+        mockMvc.perform(get("/orders/client/c").param("direction", "sideways").header("Authorization", token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.path").value("/orders/client/c"));
+
+        // Direção aceita sem diferenciar maiúsculas; o cliente não tem pedidos
+        mockMvc.perform(get("/orders/client/c").param("direction", "ASC").header("Authorization", token))
+                .andExpect(status().isNotFound());
+    }
+}
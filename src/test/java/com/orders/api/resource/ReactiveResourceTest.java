@@ -0,0 +1,121 @@
+package com.orders.api.resource;
+
+import com.orders.api.config.TestFixtures;
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Product;
+import com.orders.api.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+// Sem impressão dos resultados: perform() volta assim que o processamento assíncrono começa, com a thread do
+// Reactor ainda escrevendo os cabeçalhos, e ler a resposta nesse momento falha com ConcurrentModificationException
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles("local")
+class ReactiveResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OrderService orderService;
+
+    private String token;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        token = fixtures.bearerToken("reactive");
+        product = fixtures.product("Caneta", "Azul", "2.50");
+    }
+
+    @Test
+    void streamsClientOrdersWithItems() throws Exception {
+        String clientId = UUID.randomUUID().toString();
+        for (int i = 1; i <= 3; i++) {
+            orderService.create(new CreateOrderDto(clientId, List.of(
+                    new OrderItemDto(i, product.getId(), product.getPrice()),
+                    new OrderItemDto(1, product.getId(), product.getPrice())), null));
+        }
+
+        String body = stream("/reactive/orders/client/" + clientId + "?limit=2");
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines).allSatisfy(line -> {
+            assertThat(line).contains("\"clientId\":\"" + clientId + "\"");
+            assertThat(line).contains("\"productId\":\"" + product.getId() + "\"");
+        });
+        // Pedido mais recente primeiro: 3 + 1 unidades
+        assertThat(lines.get(0)).contains("\"total\":10.00");
+    }
+
+    @Test
+    void streamsProductsAndFindsOne() throws Exception {
+        assertThat(stream("/reactive/products")).contains("\"id\":\"" + product.getId() + "\"");
+
+        MvcResult result = mockMvc.perform(get("/reactive/products/" + product.getId()).header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(dispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Caneta"));
+
+        MvcResult missing = mockMvc.perform(get("/reactive/products/nope").header("Authorization", token))
+                .andReturn();
+        mockMvc.perform(dispatch(missing))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void requiresAuthentication() throws Exception {
+        mockMvc.perform(get("/reactive/products"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String stream(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(dispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    /**
+     * Despacho do resultado assíncrono só depois de concluído, quando nenhuma outra thread escreve na resposta.
+     */
+    private static RequestBuilder dispatch(MvcResult result) {
+        result.getAsyncResult();
+        return asyncDispatch(result);
+    }
+}
@@ -0,0 +1,122 @@
+package com.orders.api.resource;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.orders.api.config.TestFixtures;
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Product;
+import com.orders.api.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Negociação de conteúdo entre JSON, Smile e CBOR: a mesma rota devolve o mesmo conteúdo em qualquer formato.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class WireFormatTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    // BigDecimal preservado nos três formatos, para comparar as árvores
+    private static final ObjectMapper JSON_READER = reader(new ObjectMapper());
+    private static final ObjectMapper SMILE_READER = reader(new ObjectMapper(new SmileFactory()));
+    private static final ObjectMapper CBOR_READER = reader(new ObjectMapper(new CBORFactory()));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private OrderService orderService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = fixtures.bearerToken("wire");
+
+        Product product = fixtures.product("Caneta", "Azul", "4.90");
+        for (int i = 0; i < 3; i++) {
+            orderService.create(new CreateOrderDto("wire-client",
+                    List.of(new OrderItemDto(2, product.getId(), product.getPrice())), null));
+        }
+    }
+
+    @Test
+    void ordersAreNegotiatedInEveryFormat() throws Exception {
+        JsonNode json = JSON_READER.readTree(fetch("/orders?size=3", MediaType.APPLICATION_JSON));
+
+        assertThat(SMILE_READER.readTree(fetch("/orders?size=3", SMILE))).isEqualTo(json);
+        assertThat(CBOR_READER.readTree(fetch("/orders?size=3", CBOR))).isEqualTo(json);
+    }
+
+    @Test
+    void productsAreNegotiatedInEveryFormat() throws Exception {
+        JsonNode json = JSON_READER.readTree(fetch("/products", MediaType.APPLICATION_JSON));
+
+        assertThat(SMILE_READER.readTree(fetch("/products", SMILE))).isEqualTo(json);
+        assertThat(CBOR_READER.readTree(fetch("/products", CBOR))).isEqualTo(json);
+    }
+
+    @Test
+    void binaryRequestBodiesAreAccepted() throws Exception {
+        Product product = new Product("Borracha", "Branca", new BigDecimal("2.50"), null);
+
+        byte[] response = mockMvc.perform(post("/products")
+                        .header("Authorization", token)
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(CBOR_READER.writeValueAsBytes(product)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = CBOR_READER.readTree(response);
+        assertThat(created.get("name").asText()).isEqualTo("Borracha");
+        assertThat(created.get("price").decimalValue()).isEqualByComparingTo("2.50");
+    }
+
+    @Test
+    void jsonRemainsTheDefault() throws Exception {
+        mockMvc.perform(get("/products").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private byte[] fetch(String uri, MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(uri).header("Authorization", token).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static ObjectMapper reader(ObjectMapper mapper) {
+        return mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+}
@@ -0,0 +1,86 @@
+package com.orders.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 20_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void insertedValuesAreAlwaysFound() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+        List<String> values = values(INSERTIONS);
+        values.forEach(filter::put);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void concurrentInsertionsAreNotLost() throws Exception {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+        int threads = 8;
+        List<List<String>> partitions = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            partitions.add(values(INSERTIONS / threads));
+        }
+
+        // Todas as threads gravam nas mesmas palavras de bits ao mesmo tempo: um CAS perdido seria um falso negativo
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<String> partition : partitions) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    partition.forEach(filter::put);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(partitions).allSatisfy(partition -> assertThat(partition).allMatch(filter::mightContain));
+    }
+
+    @Test
+    void falsePositiveRateStaysCloseToConfigured() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+        values(INSERTIONS).forEach(filter::put);
+
+        int probes = 200_000;
+        long falsePositives = values(probes).stream().filter(filter::mightContain).count();
+
+        assertThat((double) falsePositives / probes).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+
+        assertThat(values(1_000)).noneMatch(filter::mightContain);
+    }
+
+    private static List<String> values(int count) {
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(UUID.randomUUID().toString());
+        }
+        return values;
+    }
+}
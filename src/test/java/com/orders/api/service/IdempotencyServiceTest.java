@@ -0,0 +1,121 @@
+package com.orders.api.service;
+
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Order;
+import com.orders.api.entity.Product;
+import com.orders.api.entity.exception.IdempotencyKeyMismatchException;
+import com.orders.api.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("local")
+class IdempotencyServiceTest {
+
+    private static final int THREADS = 2;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(new Product("Caneta", "Azul", new BigDecimal("4.90"), null));
+        key = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyCreateOneOrder() throws Exception {
+        CreateOrderDto dto = order(UUID.randomUUID().toString(), 2);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Order>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyService.create("alice", key, dto);
+                }));
+            }
+            start.countDown();
+
+            String first = results.get(0).get(10, TimeUnit.SECONDS).getId();
+            for (Future<Order> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).getId()).isEqualTo(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ordersOf(dto.getClientId())).as("pedidos inseridos").isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from idempotency_keys where idempotency_key = ?", Integer.class, key))
+                .as("chaves gravadas").isEqualTo(1);
+    }
+
+    @Test
+    void theSameKeyFromAnotherUserCreatesAnotherOrder() {
+        CreateOrderDto dto = order(UUID.randomUUID().toString(), 2);
+
+        Order alice = idempotencyService.create("alice", key, dto);
+        Order bob = idempotencyService.create("bob", key, dto);
+
+        assertThat(bob.getId()).isNotEqualTo(alice.getId());
+        assertThat(idempotencyService.create("bob", key, dto).getId()).isEqualTo(bob.getId());
+        assertThat(ordersOf(dto.getClientId())).isEqualTo(2);
+    }
+
+    @Test
+    void reusingAKeyWithAnotherBodyIsRejected() {
+        String clientId = UUID.randomUUID().toString();
+        idempotencyService.create("alice", key, order(clientId, 2));
+
+        assertThatThrownBy(() -> idempotencyService.create("alice", key, order(clientId, 3)))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(ordersOf(clientId)).isEqualTo(1);
+    }
+
+    @Test
+    void equivalentPricesHashTheSame() {
+        CreateOrderDto plain = new CreateOrderDto("c", List.of(new OrderItemDto(1, "p", new BigDecimal("10"))), null);
+        CreateOrderDto scaled = new CreateOrderDto("c", List.of(new OrderItemDto(1, "p", new BigDecimal("10.00"))), null);
+        CreateOrderDto card = new CreateOrderDto("c", List.of(new OrderItemDto(1, "p", new BigDecimal("10"))), "h");
+
+        assertThat(IdempotencyService.requestHash(scaled)).isEqualTo(IdempotencyService.requestHash(plain));
+        assertThat(IdempotencyService.requestHash(card)).isNotEqualTo(IdempotencyService.requestHash(plain));
+    }
+
+    private CreateOrderDto order(String clientId, int quantity) {
+        return new CreateOrderDto(clientId, List.of(new OrderItemDto(quantity, product.getId(), product.getPrice())), null);
+    }
+
+    private int ordersOf(String clientId) {
+        return jdbcTemplate.queryForObject("select count(*) from orders where client_id = ?", Integer.class, clientId);
+    }
+}
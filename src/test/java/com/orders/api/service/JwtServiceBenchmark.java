@@ -0,0 +1,77 @@
+package com.orders.api.service;
+
+import com.orders.api.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das operações do {@link JwtService}: emissão do token e leitura com e sem o cache de tokens verificados.
+ * <p>
+ * Os métodos {@code *Uncached} usam um serviço com cache de capacidade zero, de modo que toda chamada refaz a
+ * verificação HMAC e o parsing. Executar com {@code mvn -Pbenchmark test -Djmh.include=JwtServiceBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService cached;
+    private JwtService uncached;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtService(new SimpleMeterRegistry(), 50_000);
+        uncached = new JwtService(new SimpleMeterRegistry(), 0);
+        user = User.builder().id(42L).username("benchmark").role("USER").build();
+        token = cached.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return cached.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncached.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return cached.validateToken(token, user);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token, user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
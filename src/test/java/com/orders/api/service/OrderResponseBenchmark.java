@@ -0,0 +1,127 @@
+package com.orders.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.api.dto.OrderResponse;
+import com.orders.api.entity.Order;
+import com.orders.api.entity.OrderItem;
+import com.orders.api.entity.Product;
+import com.orders.api.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de montar a resposta de uma página de pedidos: {@link OrderService#mapToResponse(Order)} (e, por ele,
+ * o mapeamento de cada item) e a serialização Jackson da lista resultante.
+ * <p>
+ * O {@link ObjectMapper} é criado pelo mesmo builder usado pelo Spring Boot. Executar com
+ * {@code mvn -Pbenchmark test -Djmh.include=OrderResponseBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderResponseBenchmark {
+
+    /**
+     * Pedidos por página; 200 é o {@link OrderService#MAX_PAGE_SIZE}.
+     */
+    @Param({"20", "200"})
+    public int orders;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    private OrderService orderService;
+    private ObjectMapper objectMapper;
+    private List<Order> page;
+    private List<OrderResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // Apenas o mapeamento é exercitado; os repositórios não são usados
+        orderService = new OrderService(null, null, null, null, null, new SimpleMeterRegistry());
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Product product = new Product("Produto", "Descrição", new BigDecimal("19.90"), null);
+        product.setId(UUID.randomUUID().toString());
+
+        page = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.setId(UUID.randomUUID().toString());
+            order.setClientId("client-" + i % 10);
+            order.setStatus(OrderStatus.PENDING);
+            order.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            for (int j = 0; j < itemsPerOrder; j++) {
+                OrderItem item = new OrderItem();
+                item.setId((long) i * itemsPerOrder + j);
+                item.setQuantity(1 + j);
+                item.setPrice(product.getPrice());
+                item.setProduct(product);
+                item.setOrder(order);
+                items.add(item);
+            }
+            order.setItems(items);
+            order.setTotal(order.calculateTotal());
+            page.add(order);
+        }
+        responses = mapPage();
+    }
+
+    @Benchmark
+    public List<OrderResponse> mapToResponse() {
+        return mapPage();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    /**
+     * Caminho completo de uma listagem: mapeamento seguido da serialização.
+     */
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapPage());
+    }
+
+    private List<OrderResponse> mapPage() {
+        List<OrderResponse> result = new ArrayList<>(page.size());
+        for (Order order : page) {
+            result.add(orderService.mapToResponse(order));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderResponseBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.orders.api.service;
+
+import com.orders.api.entity.RevokedToken;
+import com.orders.api.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Revogação com o filtro de Bloom à frente da tabela, sobre um repositório em memória.
+ */
+class TokenRevocationServiceTest {
+
+    private static final Date EXPIRES_AT = Date.from(Instant.now().plus(1, ChronoUnit.HOURS));
+
+    /**
+     * Conteúdo da tabela {@code revoked_tokens}.
+     */
+    private final Set<String> table = ConcurrentHashMap.newKeySet();
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(RevokedTokenRepository.class);
+        when(repository.existsById(anyString())).thenAnswer(invocation -> table.contains(invocation.<String>getArgument(0)));
+        when(repository.save(any(RevokedToken.class))).thenAnswer(invocation -> {
+            RevokedToken token = invocation.getArgument(0);
+            table.add(token.getJti());
+            return token;
+        });
+        when(repository.findActiveJtis(any())).thenAnswer(invocation -> new ArrayList<>(table));
+        service = new TokenRevocationService(repository, new SimpleMeterRegistry(), 1_000, 0.01);
+    }
+
+    @Test
+    void revokedTokensAreReportedBeforeAndAfterRebuild() {
+        String jti = UUID.randomUUID().toString();
+        service.revoke(jti, EXPIRES_AT);
+        assertThat(service.isRevoked(jti)).isTrue();
+
+        service.rebuild();
+        assertThat(service.isRevoked(jti)).isTrue();
+        assertThat(service.isRevoked(UUID.randomUUID().toString())).isFalse();
+    }
+
+    @Test
+    void tokensRevokedByOtherInstancesAreLoadedByRebuild() {
+        String jti = UUID.randomUUID().toString();
+        table.add(jti);
+        assertThat(service.isRevoked(jti)).as("antes da reconstrução").isFalse();
+
+        service.rebuild();
+        assertThat(service.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void tokenRevokedDuringRebuildSurvivesTheSwap() {
+        String jti = UUID.randomUUID().toString();
+        // Revogação entre a leitura da tabela e a troca do filtro: o filtro novo não a recebe pela consulta
+        when(repository.findActiveJtis(any())).thenAnswer(invocation -> {
+            List<String> active = new ArrayList<>(table);
+            service.revoke(jti, EXPIRES_AT);
+            return active;
+        });
+
+        service.rebuild();
+
+        assertThat(service.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void concurrentRevocationsAreNeverLostByRebuilds() throws Exception {
+        AtomicBoolean revoking = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> rebuilds = executor.submit(() -> {
+                while (revoking.get()) {
+                    service.rebuild();
+                }
+            });
+            Future<List<String>> revocations = executor.submit(() -> {
+                List<String> revoked = new ArrayList<>();
+                try {
+                    for (int i = 0; i < 2_000; i++) {
+                        String jti = UUID.randomUUID().toString();
+                        service.revoke(jti, EXPIRES_AT);
+                        revoked.add(jti);
+                        assertThat(service.isRevoked(jti)).as("logo após a revogação").isTrue();
+                    }
+                } finally {
+                    revoking.set(false);
+                }
+                return revoked;
+            });
+
+            List<String> revoked = revocations.get();
+            rebuilds.get();
+            assertThat(revoked).allMatch(service::isRevoked);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.orders.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.orders.api.dto.OrderResponse;
+import com.orders.api.entity.Order;
+import com.orders.api.entity.OrderItem;
+import com.orders.api.entity.Product;
+import com.orders.api.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tamanho e custo de serialização de uma resposta com 10 mil pedidos em JSON, Smile e CBOR, com e sem gzip
+ * (a compressão que o Tomcat aplica acima de {@code server.compression.min-response-size}).
+ * <p>
+ * Os tamanhos saem no próprio resultado do JMH, como métricas secundárias {@code :bytes} de {@code serialize} e
+ * {@code serializeGzip} ({@link PayloadSize}), e estão anotados em {@code benchmarks/baseline.txt}.
+ * Executar com {@code mvn -Pbenchmark test -Djmh.include=WireFormatBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"10000"})
+    public int orders;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    private ObjectMapper objectMapper;
+    private List<OrderResponse> responses;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Mesma configuração de datas do ObjectMapper do Spring Boot (ISO-8601 em vez de timestamps)
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        OrderService orderService = new OrderService(null, null, null, null, null, new SimpleMeterRegistry());
+        Product product = new Product("Produto", "Descrição", new BigDecimal("19.90"), null);
+        product.setId(UUID.randomUUID().toString());
+
+        responses = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.setId(UUID.randomUUID().toString());
+            order.setClientId(UUID.randomUUID().toString());
+            order.setStatus(OrderStatus.values()[i % OrderStatus.values().length]);
+            order.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            for (int j = 0; j < itemsPerOrder; j++) {
+                OrderItem item = new OrderItem();
+                item.setId((long) i * itemsPerOrder + j);
+                item.setQuantity(1 + j);
+                item.setPrice(product.getPrice().add(BigDecimal.valueOf(j)));
+                item.setProduct(product);
+                item.setOrder(order);
+                items.add(item);
+            }
+            order.setItems(items);
+            order.setTotal(order.calculateTotal());
+            responses.add(orderService.mapToResponse(order));
+        }
+
+        payload = objectMapper.writeValueAsBytes(responses);
+    }
+
+    /**
+     * Tamanho da resposta, publicado pelo JMH ao lado do tempo de cada benchmark. O JMH soma os contadores de
+     * todas as iterações medidas, então o tamanho é registrado apenas na primeira.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long bytes;
+
+        private boolean recording;
+        private boolean recorded;
+
+        @Setup(Level.Iteration)
+        public void startIteration(IterationParams iteration) {
+            bytes = 0;
+            recording = iteration.getType() == IterationType.MEASUREMENT && !recorded;
+            recorded |= recording;
+        }
+
+        void record(int length) {
+            if (recording) {
+                bytes = length;
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize size) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(responses);
+        size.record(bytes.length);
+        return bytes;
+    }
+
+    /**
+     * Serialização seguida da compressão gzip, como na resposta comprimida pelo Tomcat.
+     */
+    @Benchmark
+    public byte[] serializeGzip(PayloadSize size) throws IOException {
+        byte[] bytes = gzip(objectMapper.writeValueAsBytes(responses));
+        size.record(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    public List<?> deserialize() throws IOException {
+        return objectMapper.readValue(payload, List.class);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + format);
+        };
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WireFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,127 @@
+package com.orders.api.service.payment;
+
+import com.orders.api.dto.CreateOrderDto;
+import com.orders.api.dto.OrderItemDto;
+import com.orders.api.entity.Product;
+import com.orders.api.enums.OrderStatus;
+import com.orders.api.repository.OrderRepository;
+import com.orders.api.repository.PaymentRequestRepository;
+import com.orders.api.repository.ProductRepository;
+import com.orders.api.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Fila cheia e recuperação: com um único worker e sem fila, o segundo pedido não é recusado; fica PENDING com a
+ * cobrança gravada até ser retomado. Tentativas esgotadas por falhas transitórias também não falham o pedido.
+ */
+@SpringBootTest(properties = {
+        "orders.payment.max-concurrency=1",
+        "orders.payment.queue-capacity=0",
+        "orders.payment.recovery.interval=PT1H",
+        "orders.payment.recovery.delay=PT0S",
+        "orders.payment.simulated.latency=PT0.3S",
+        "orders.payment.simulated.failure-rate=0",
+        "orders.payment.simulated.decline-rate=0"
+})
+@ActiveProfiles("local")
+class PaymentProcessorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PaymentRequestRepository paymentRequestRepository;
+
+    @Test
+    void chargesThatDoNotFitTheQueueStayPendingUntilRecovered() throws InterruptedException {
+        Product product = productRepository.save(new Product("Caneta", "Azul", new BigDecimal("4.90"), null));
+        String clientId = UUID.randomUUID().toString();
+        List<OrderItemDto> items = List.of(new OrderItemDto(1, product.getId(), product.getPrice()));
+
+        String charged = orderService.create(new CreateOrderDto(clientId, items, "card-1")).getId();
+        String deferred = orderService.create(new CreateOrderDto(clientId, items, "card-2")).getId();
+
+        assertThat(status(deferred)).isEqualTo(OrderStatus.PENDING);
+        assertThat(paymentRequestRepository.existsById(deferred)).as("cobrança gravada").isTrue();
+
+        awaitStatus(charged, OrderStatus.PAID);
+        assertThat(paymentRequestRepository.existsById(charged)).as("cobrança removida").isFalse();
+        assertThat(status(deferred)).isEqualTo(OrderStatus.PENDING);
+
+        paymentProcessor.recoverPendingCharges();
+
+        awaitStatus(deferred, OrderStatus.PAID);
+        assertThat(paymentRequestRepository.existsById(deferred)).as("cobrança removida").isFalse();
+    }
+
+    @Test
+    void exhaustedTransientFailuresLeaveTheOrderPendingForRecovery() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        PaymentGateway timingOut = (orderId, cardHash, amount) -> {
+            calls.incrementAndGet();
+            throw new PaymentGatewayException("timeout");
+        };
+        OrderService orders = mock(OrderService.class);
+        PaymentRequestRepository requests = mock(PaymentRequestRepository.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PaymentProcessor processor = new PaymentProcessor(
+                new StaticListableBeanFactory(Map.of("gateway", timingOut)).getBeanProvider(PaymentGateway.class),
+                orders, requests, mock(PlatformTransactionManager.class), registry,
+                1, 0, 3, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ZERO, 10, false);
+        try {
+            processor.onPaymentRequested(new PaymentRequestedEvent("order-1", "card-1", new BigDecimal("4.90")));
+
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            while (registry.counter("orders.payment.results", "outcome", "exhausted").count() == 0
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(registry.counter("orders.payment.results", "outcome", "exhausted").count()).isEqualTo(1);
+            assertThat(calls).as("tentativas").hasValue(3);
+            // Nem fail nem remoção da cobrança gravada: o pedido continua PENDING para a recuperação
+            verifyNoInteractions(orders, requests);
+        } finally {
+            processor.shutdown();
+        }
+    }
+
+    private OrderStatus status(String orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getStatus();
+    }
+
+    private void awaitStatus(String orderId, OrderStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (status(orderId) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(status(orderId)).isEqualTo(expected);
+    }
+}